@@ -0,0 +1,182 @@
+import java.nio.IntBuffer;
+
+/**
+ * The class represents a single-pass engine for finding the maximum profit
+ * that can be obtained by buying and selling a stock. The stock price changes
+ * are fed to the scanner one value or one chunk at a time, so a history never
+ * has to be held in memory in its entirety.
+ *
+ * <p>The scanner keeps the minimum prefix sum seen so far together with the
+ * best window found so far. Every value is therefore handled in constant time,
+ * and the scanner uses constant memory regardless of the length of the history.
+ * The result is identical to the one produced by the nested loop scan, including
+ * the choice of buy and sell date when several windows give the same profit.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 24, 2023.
+ */
+public class MaxProfitScanner {
+  private long days;
+  private long prefixSum;
+  private long minPrefixSum;
+  private long minPrefixDay;
+  private long maxProfit;
+  private long buyDate;
+  private long sellDate;
+
+  /**
+   * Feeds the next stock price change to the scanner.
+   *
+   * @param change the stock price change of the next day.
+   */
+  public void accept(int change) {
+    if (days > 0) {
+      prefixSum += change;
+      long profit = prefixSum - minPrefixSum;
+      if (profit > maxProfit) {
+        maxProfit = profit;
+        buyDate = minPrefixDay + 1;
+        sellDate = days + 1;
+      }
+      if (prefixSum < minPrefixSum) {
+        minPrefixSum = prefixSum;
+        minPrefixDay = days;
+      }
+    }
+    days++;
+  }
+
+  /**
+   * Feeds a chunk of stock price changes to the scanner.
+   *
+   * @param chunk an array holding the stock price changes.
+   * @param fromIndex the index of the first change to be read, inclusive.
+   * @param toIndex the index of the last change to be read, exclusive.
+   */
+  public void accept(int[] chunk, int fromIndex, int toIndex) {
+    if (fromIndex >= toIndex) {
+      return;
+    }
+    if (days == 0) {
+      accept(chunk[fromIndex++]);
+    }
+
+    //Running state is kept in local variables while the chunk is scanned.
+    long day = days;
+    long sum = prefixSum;
+    long minSum = minPrefixSum;
+    long minDay = minPrefixDay;
+    long max = maxProfit;
+    long buy = buyDate;
+    long sell = sellDate;
+
+    for (int i = fromIndex; i < toIndex; i++, day++) { //O(n)
+      sum += chunk[i];
+      if (sum - minSum > max) {
+        max = sum - minSum;
+        buy = minDay + 1;
+        sell = day + 1;
+      }
+      if (sum < minSum) {
+        minSum = sum;
+        minDay = day;
+      }
+    }
+
+    days = day;
+    prefixSum = sum;
+    minPrefixSum = minSum;
+    minPrefixDay = minDay;
+    maxProfit = max;
+    buyDate = buy;
+    sellDate = sell;
+  }
+
+  /**
+   * Feeds every remaining stock price change in the buffer to the scanner.
+   * The buffer is read in place, so a memory-mapped buffer is scanned
+   * without its content being copied to the heap. The position of the
+   * buffer is moved to its limit.
+   *
+   * @param buffer a buffer holding the stock price changes.
+   */
+  public void accept(IntBuffer buffer) {
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset();
+      accept(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+      buffer.position(buffer.limit());
+      return;
+    }
+    while (buffer.hasRemaining()) {
+      accept(buffer.get());
+    }
+  }
+
+  /**
+   * Clears the running state, so the scanner can be reused for another
+   * history without a new scanner being allocated.
+   */
+  public void reset() {
+    days = 0;
+    prefixSum = 0;
+    minPrefixSum = 0;
+    minPrefixDay = 0;
+    maxProfit = 0;
+    buyDate = 0;
+    sellDate = 0;
+  }
+
+  /**
+   * Returns the number of stock price changes read so far.
+   *
+   * @return the number of days scanned.
+   */
+  public long getDays() {
+    return days;
+  }
+
+  /**
+   * Returns the maximum profit found so far.
+   *
+   * @return the maximum profit, or 0 if no profitable window exists.
+   */
+  public long getMaxProfit() {
+    return maxProfit;
+  }
+
+  /**
+   * Returns the buy date of the best window found so far.
+   *
+   * @return the buy date, or 0 if no profitable window exists.
+   */
+  public long getBuyDate() {
+    return buyDate;
+  }
+
+  /**
+   * Returns the sell date of the best window found so far.
+   *
+   * @return the sell date, or 0 if no profitable window exists.
+   */
+  public long getSellDate() {
+    return sellDate;
+  }
+
+  /**
+   * Returns the result in the same layout as
+   * {@link StockProfitCalculator#calculateMaxStockProfit(int[])}.
+   *
+   * @return an array containing information about the result.
+   * @throws ArithmeticException if a value does not fit in an int.
+   */
+  public int[] getResult() {
+    int[] array = new int[StockProfitCalculator.RESULT_SIZE];
+    array[StockProfitCalculator.LENGTH] = Math.toIntExact(days);
+    array[StockProfitCalculator.MAX_PROFIT] = Math.toIntExact(maxProfit);
+    array[StockProfitCalculator.BUY_DATE] = Math.toIntExact(buyDate);
+    array[StockProfitCalculator.SELL_DATE] = Math.toIntExact(sellDate);
+
+    return array;
+  }
+}
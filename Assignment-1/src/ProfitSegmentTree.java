@@ -0,0 +1,149 @@
+/**
+ * The class represents a segment tree of {@link ProfitSummary} values built
+ * once over an array of stock price changes. It answers the maximum profit
+ * between any two days in O(log n) time, and a single price change can be
+ * corrected in O(log n) time without rebuilding the tree.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 24, 2023.
+ */
+public class ProfitSegmentTree {
+  private final int days;
+  private final ProfitSummary[] tree;
+
+  /**
+   * Constructs a segment tree over the given stock price changes.
+   * The array is not kept by the tree.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @throws IllegalArgumentException if the array is empty.
+   */
+  public ProfitSegmentTree(int[] stockChange) {
+    if (stockChange.length == 0) {
+      throw new IllegalArgumentException("The stock price changes cannot be empty.");
+    }
+    this.days = stockChange.length;
+    this.tree = new ProfitSummary[4 * days];
+    build(stockChange, 1, 0, days - 1);
+  }
+
+  /**
+   * Builds the subtree covering a range of the changes.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @param node The index of the subtree root.
+   * @param lowIndex The index of the first change covered by the subtree.
+   * @param highIndex The index of the last change covered by the subtree.
+   */
+  private void build(int[] stockChange, int node, int lowIndex, int highIndex) {
+    if (lowIndex == highIndex) {
+      tree[node] = ProfitSummary.of(lowIndex, stockChange[lowIndex]);
+      return;
+    }
+    int middle = (lowIndex + highIndex) >>> 1;
+    build(stockChange, 2 * node, lowIndex, middle);
+    build(stockChange, 2 * node + 1, middle + 1, highIndex);
+    tree[node] = tree[2 * node].merge(tree[2 * node + 1]);
+  }
+
+  /**
+   * Calculates the maximum profit of buying and selling the stock between two
+   * days, both inclusive. The result is the same as calling
+   * {@link StockProfitCalculator#calculateMaxStockProfit(int[])} on the changes
+   * of the days in the range, except that the dates are counted from the start
+   * of the whole history.
+   *
+   * @param fromDay the first day the stock can be bought, counted from 1.
+   * @param toDay the last day the stock can be sold, counted from 1.
+   * @return an array containing information about the result.
+   * @throws IllegalArgumentException if the days are not within the history.
+   */
+  public int[] query(int fromDay, int toDay) {
+    if (fromDay < 1 || toDay > days || fromDay > toDay) {
+      throw new IllegalArgumentException("Invalid range of days: "
+              + fromDay + " to " + toDay + " (history has " + days + " days)");
+    }
+    //Buying on fromDay and selling on toDay covers the changes of days fromDay + 1 to toDay.
+    if (fromDay == toDay) {
+      int[] array = new int[StockProfitCalculator.RESULT_SIZE];
+      array[StockProfitCalculator.LENGTH] = 1;
+      return array;
+    }
+    ProfitSummary summary = query(1, 0, days - 1, fromDay, toDay - 1);
+    int[] array = summary.toResult(toDay - fromDay + 1);
+
+    return array;
+  }
+
+  /**
+   * Summarises the changes shared by a subtree and a range.
+   *
+   * @param node The index of the subtree root.
+   * @param lowIndex The index of the first change covered by the subtree.
+   * @param highIndex The index of the last change covered by the subtree.
+   * @param fromIndex The index of the first change in the range.
+   * @param toIndex The index of the last change in the range.
+   * @return The summary of the changes in both the subtree and the range.
+   */
+  private ProfitSummary query(int node, int lowIndex, int highIndex, int fromIndex, int toIndex) {
+    if (fromIndex <= lowIndex && highIndex <= toIndex) {
+      return tree[node];
+    }
+    int middle = (lowIndex + highIndex) >>> 1;
+    if (toIndex <= middle) {
+      return query(2 * node, lowIndex, middle, fromIndex, toIndex);
+    }
+    if (fromIndex > middle) {
+      return query(2 * node + 1, middle + 1, highIndex, fromIndex, toIndex);
+    }
+    return query(2 * node, lowIndex, middle, fromIndex, toIndex)
+            .merge(query(2 * node + 1, middle + 1, highIndex, fromIndex, toIndex));
+  }
+
+  /**
+   * Replaces a single stock price change, for instance after a late correction.
+   *
+   * @param index the index of the change in the original array.
+   * @param change the corrected stock price change.
+   * @throws IndexOutOfBoundsException if the index is not within the history.
+   */
+  public void update(int index, int change) {
+    if (index < 0 || index >= days) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + days + " days");
+    }
+    update(1, 0, days - 1, index, change);
+  }
+
+  /**
+   * Replaces a single change within a subtree and refreshes the summaries above it.
+   *
+   * @param node The index of the subtree root.
+   * @param lowIndex The index of the first change covered by the subtree.
+   * @param highIndex The index of the last change covered by the subtree.
+   * @param index The index of the change to be replaced.
+   * @param change The new stock price change.
+   */
+  private void update(int node, int lowIndex, int highIndex, int index, int change) {
+    if (lowIndex == highIndex) {
+      tree[node] = ProfitSummary.of(index, change);
+      return;
+    }
+    int middle = (lowIndex + highIndex) >>> 1;
+    if (index <= middle) {
+      update(2 * node, lowIndex, middle, index, change);
+    } else {
+      update(2 * node + 1, middle + 1, highIndex, index, change);
+    }
+    tree[node] = tree[2 * node].merge(tree[2 * node + 1]);
+  }
+
+  /**
+   * Returns the number of days covered by the tree.
+   *
+   * @return the number of days.
+   */
+  public int getDays() {
+    return days;
+  }
+}
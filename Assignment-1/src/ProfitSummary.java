@@ -0,0 +1,210 @@
+/**
+ * The class represents a summary of a contiguous segment of stock price changes.
+ * Two summaries of neighbouring segments can be merged into the summary of the
+ * combined segment, which makes it possible to compute the summaries of separate
+ * segments independently and combine them afterwards.
+ *
+ * <p>A window is a non-empty run of changes from a start index to an end index,
+ * both inclusive. When several windows have the same sum, the summary keeps the one
+ * with the lowest start index, and then the one with the lowest end index. This is
+ * the same choice as the one made by the sequential scan.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 24, 2023.
+ */
+public class ProfitSummary {
+  private final long total;
+  private final long prefixSum;
+  private final long prefixEnd;
+  private final long suffixSum;
+  private final long suffixStart;
+  private final long bestSum;
+  private final long bestStart;
+  private final long bestEnd;
+
+  /**
+   * Constructs a summary from its values.
+   *
+   * @param total the sum of all changes in the segment.
+   * @param prefixSum the largest sum of a window starting at the beginning of the segment.
+   * @param prefixEnd the end index of the best prefix window.
+   * @param suffixSum the largest sum of a window ending at the end of the segment.
+   * @param suffixStart the start index of the best suffix window.
+   * @param bestSum the largest sum of any window in the segment.
+   * @param bestStart the start index of the best window.
+   * @param bestEnd the end index of the best window.
+   */
+  public ProfitSummary(long total, long prefixSum, long prefixEnd, long suffixSum,
+                       long suffixStart, long bestSum, long bestStart, long bestEnd) {
+    this.total = total;
+    this.prefixSum = prefixSum;
+    this.prefixEnd = prefixEnd;
+    this.suffixSum = suffixSum;
+    this.suffixStart = suffixStart;
+    this.bestSum = bestSum;
+    this.bestStart = bestStart;
+    this.bestEnd = bestEnd;
+  }
+
+  /**
+   * Creates the summary of a segment holding a single change.
+   *
+   * @param index the index of the change.
+   * @param change the stock price change.
+   * @return the summary of the segment.
+   */
+  public static ProfitSummary of(long index, int change) {
+    return new ProfitSummary(change, change, index, change, index, change, index, index);
+  }
+
+  /**
+   * Creates the summary of a non-empty range of an array in a single pass.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @param fromIndex the index of the first change in the segment, inclusive.
+   * @param toIndex the index of the last change in the segment, exclusive.
+   * @return the summary of the segment.
+   */
+  public static ProfitSummary of(int[] stockChange, int fromIndex, int toIndex) {
+    long sum = 0;
+    long maxPrefix = Long.MIN_VALUE;
+    long maxPrefixEnd = fromIndex;
+    long minSumBefore = 0;
+    long minSumBeforeIndex = fromIndex;
+    long current = 0;
+    long currentStart = fromIndex;
+    long max = Long.MIN_VALUE;
+    long maxStart = fromIndex;
+    long maxEnd = fromIndex;
+
+    for (int i = fromIndex; i < toIndex; i++) { //O(n)
+      //The best suffix starts right after the lowest sum of the changes before it.
+      if (i > fromIndex && sum < minSumBefore) {
+        minSumBefore = sum;
+        minSumBeforeIndex = i;
+      }
+      sum += stockChange[i];
+      if (sum > maxPrefix) {
+        maxPrefix = sum;
+        maxPrefixEnd = i;
+      }
+
+      if (current < 0) {
+        current = 0;
+        currentStart = i;
+      }
+      current += stockChange[i];
+      if (current > max) {
+        max = current;
+        maxStart = currentStart;
+        maxEnd = i;
+      }
+    }
+
+    return new ProfitSummary(sum, maxPrefix, maxPrefixEnd,
+            sum - minSumBefore, minSumBeforeIndex, max, maxStart, maxEnd);
+  }
+
+  /**
+   * Merges this summary with the summary of the segment directly following it.
+   *
+   * @param right the summary of the segment to the right of this segment.
+   * @return the summary of the combined segment.
+   */
+  public ProfitSummary merge(ProfitSummary right) {
+    long combinedTotal = total + right.total;
+
+    long combinedPrefixSum = prefixSum;
+    long combinedPrefixEnd = prefixEnd;
+    if (total + right.prefixSum > prefixSum) {
+      combinedPrefixSum = total + right.prefixSum;
+      combinedPrefixEnd = right.prefixEnd;
+    }
+
+    long combinedSuffixSum = right.suffixSum;
+    long combinedSuffixStart = right.suffixStart;
+    if (suffixSum + right.total >= right.suffixSum) {
+      combinedSuffixSum = suffixSum + right.total;
+      combinedSuffixStart = suffixStart;
+    }
+
+    long combinedBestSum = bestSum;
+    long combinedBestStart = bestStart;
+    long combinedBestEnd = bestEnd;
+    long crossingSum = suffixSum + right.prefixSum;
+    if (crossingSum > combinedBestSum
+            || crossingSum == combinedBestSum && suffixStart < combinedBestStart) {
+      combinedBestSum = crossingSum;
+      combinedBestStart = suffixStart;
+      combinedBestEnd = right.prefixEnd;
+    }
+    if (right.bestSum > combinedBestSum) {
+      combinedBestSum = right.bestSum;
+      combinedBestStart = right.bestStart;
+      combinedBestEnd = right.bestEnd;
+    }
+
+    return new ProfitSummary(combinedTotal, combinedPrefixSum, combinedPrefixEnd,
+            combinedSuffixSum, combinedSuffixStart,
+            combinedBestSum, combinedBestStart, combinedBestEnd);
+  }
+
+  /**
+   * Converts the summary to the result layout used by
+   * {@link StockProfitCalculator#calculateMaxStockProfit(int[])}.
+   * Buying on the day before the first change of the best window
+   * and selling on the day of its last change gives the profit.
+   *
+   * @param days the number of days in the whole history.
+   * @return an array containing information about the result.
+   * @throws ArithmeticException if a value does not fit in an int.
+   */
+  public int[] toResult(long days) {
+    int[] array = new int[StockProfitCalculator.RESULT_SIZE];
+    array[StockProfitCalculator.LENGTH] = Math.toIntExact(days);
+    if (bestSum > 0) {
+      array[StockProfitCalculator.MAX_PROFIT] = Math.toIntExact(bestSum);
+      array[StockProfitCalculator.BUY_DATE] = Math.toIntExact(bestStart);
+      array[StockProfitCalculator.SELL_DATE] = Math.toIntExact(bestEnd + 1);
+    }
+
+    return array;
+  }
+
+  /**
+   * Returns the sum of all changes in the segment.
+   *
+   * @return the total of the segment.
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * Returns the largest sum of any window in the segment.
+   *
+   * @return the best window sum.
+   */
+  public long getBestSum() {
+    return bestSum;
+  }
+
+  /**
+   * Returns the start index of the best window in the segment.
+   *
+   * @return the start index of the best window.
+   */
+  public long getBestStart() {
+    return bestStart;
+  }
+
+  /**
+   * Returns the end index of the best window in the segment.
+   *
+   * @return the end index of the best window, inclusive.
+   */
+  public long getBestEnd() {
+    return bestEnd;
+  }
+}
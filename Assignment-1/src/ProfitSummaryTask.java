@@ -0,0 +1,52 @@
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The class represents a fork/join task computing the {@link ProfitSummary}
+ * of a range of stock price changes. Ranges above the segment size are split
+ * in two halves, which are summarised in parallel and merged afterwards.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 24, 2023.
+ */
+public class ProfitSummaryTask extends RecursiveTask<ProfitSummary> {
+  private static final long serialVersionUID = 1L;
+
+  private final int[] stockChange;
+  private final int fromIndex;
+  private final int toIndex;
+  private final int segmentSize;
+
+  /**
+   * Constructs a task summarising a non-empty range of an array.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @param fromIndex the index of the first change in the range, inclusive.
+   * @param toIndex the index of the last change in the range, exclusive.
+   * @param segmentSize the largest range summarised without being split.
+   */
+  public ProfitSummaryTask(int[] stockChange, int fromIndex, int toIndex, int segmentSize) {
+    this.stockChange = stockChange;
+    this.fromIndex = fromIndex;
+    this.toIndex = toIndex;
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Summarises the range, splitting it if it is larger than the segment size.
+   *
+   * @return the summary of the range.
+   */
+  @Override
+  protected ProfitSummary compute() {
+    if (toIndex - fromIndex <= segmentSize) {
+      return ProfitSummary.of(stockChange, fromIndex, toIndex);
+    }
+    int middle = (fromIndex + toIndex) >>> 1;
+    ProfitSummaryTask left = new ProfitSummaryTask(stockChange, fromIndex, middle, segmentSize);
+    ProfitSummaryTask right = new ProfitSummaryTask(stockChange, middle, toIndex, segmentSize);
+    left.fork();
+    ProfitSummary rightSummary = right.compute();
+    return left.join().merge(rightSummary);
+  }
+}
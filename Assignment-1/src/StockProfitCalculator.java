@@ -1,4 +1,18 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 /**
  * The class represents an algorithm for finding the maximum profit that
@@ -10,6 +24,19 @@ import java.util.Random;
  * @since Aug 24, 2023.
  */
 public class StockProfitCalculator {
+  /** The index of the number of elements in a result array. */
+  public static final int LENGTH = 0;
+  /** The index of the maximum profit in a result array. */
+  public static final int MAX_PROFIT = 1;
+  /** The index of the buy date in a result array. */
+  public static final int BUY_DATE = 2;
+  /** The index of the sell date in a result array. */
+  public static final int SELL_DATE = 3;
+  /** The number of values in a result array. */
+  public static final int RESULT_SIZE = 4;
+
+  private static final int parallelSegmentSize = 1 << 16;
+  private static final long mappedRegionSize = 1L << 30;
 
   /**
    * The method calculates the maximum profit that can be
@@ -20,32 +47,204 @@ public class StockProfitCalculator {
    * @return an array containing information about the result.
    */
   public static int[] calculateMaxStockProfit(int[] stockChange) {
-    int currentProfit;
-    int maxProfit = 0;
-    int buyDate = 0;
-    int sellDate = 0;
-
-    for (int i = 0; i < stockChange.length - 1; i++) { //O(n)
-      currentProfit = 0;
-
-      for (int j = i + 1; j < stockChange.length; j++) { //O(n)
-        currentProfit += stockChange[j];
-
-        if (currentProfit > maxProfit) {
-          maxProfit = currentProfit;
-          buyDate = i + 1;
-          sellDate = j + 1;
-        }
+    MaxProfitScanner scanner = new MaxProfitScanner();
+    scanner.accept(stockChange, 0, stockChange.length); //O(n)
+    return scanner.getResult();
+  }
+
+  /**
+   * The method calculates the maximum profit based on a stream
+   * of stock price changes. The stream is consumed in a single pass
+   * without being collected into an array.
+   *
+   * @param stockChange a stream of the stock price changes over time.
+   * @return an array containing information about the result.
+   */
+  public static int[] calculateMaxStockProfit(IntStream stockChange) {
+    MaxProfitScanner scanner = new MaxProfitScanner();
+    stockChange.sequential().forEachOrdered(scanner::accept);
+    return scanner.getResult();
+  }
+
+  /**
+   * The method calculates the maximum profit based on a sequence of
+   * chunks, where each chunk holds the stock price changes following
+   * the ones in the previous chunk.
+   *
+   * @param chunks the chunks of stock price changes over time.
+   * @return an array containing information about the result.
+   */
+  public static int[] calculateMaxStockProfit(Iterable<int[]> chunks) {
+    MaxProfitScanner scanner = new MaxProfitScanner();
+    for (int[] chunk : chunks) {
+      scanner.accept(chunk, 0, chunk.length);
+    }
+    return scanner.getResult();
+  }
+
+  /**
+   * The method calculates the maximum profit based on a file of stock
+   * price changes, stored as little-endian 32-bit integers. The file is
+   * memory-mapped region by region and scanned in place, so the changes
+   * are never copied to the heap.
+   *
+   * @param file the path of the file holding the stock price changes.
+   * @return an array containing information about the result.
+   * @throws IOException If the file cannot be read or its size is not a multiple of 4 bytes.
+   */
+  public static int[] calculateMaxStockProfit(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size % Integer.BYTES != 0) {
+        throw new IOException("The size of " + file + " is not a multiple of "
+                + Integer.BYTES + " bytes: " + size);
       }
+
+      MaxProfitScanner scanner = new MaxProfitScanner();
+      for (long position = 0; position < size; position += mappedRegionSize) {
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY,
+                position, Math.min(mappedRegionSize, size - position));
+        scanner.accept(region.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+      }
+      return scanner.getResult();
     }
+  }
 
-    int[] array = new int[4];
-    array[0] = stockChange.length;
-    array[1] = maxProfit;
-    array[2] = buyDate;
-    array[3] = sellDate;
+  /**
+   * The method calculates the maximum profit in parallel on the common
+   * fork/join pool. The result is identical to the one returned by
+   * {@link #calculateMaxStockProfit(int[])}.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @return an array containing information about the result.
+   */
+  public static int[] calculateMaxStockProfitParallel(int[] stockChange) {
+    return calculateMaxStockProfitParallel(stockChange, ForkJoinPool.commonPool());
+  }
 
-    return array;
+  /**
+   * The method calculates the maximum profit in parallel. The array is split
+   * into segments which are summarised on the given pool, and the summaries
+   * are merged into the result.
+   *
+   * @param stockChange an array of the stock price changes over time.
+   * @param pool the fork/join pool running the segments.
+   * @return an array containing information about the result.
+   */
+  public static int[] calculateMaxStockProfitParallel(int[] stockChange, ForkJoinPool pool) {
+    //The change of the first day is never part of a window.
+    if (stockChange.length < 2) {
+      return calculateMaxStockProfit(stockChange);
+    }
+    int segmentSize = Math.max(parallelSegmentSize,
+            stockChange.length / (pool.getParallelism() * 4) + 1);
+    ProfitSummary summary = pool.invoke(
+            new ProfitSummaryTask(stockChange, 1, stockChange.length, segmentSize));
+
+    return summary.toResult(stockChange.length);
+  }
+
+  /**
+   * The method calculates the maximum profit of many series of stock price
+   * changes stored back to back in a single array. Series number s holds the
+   * changes from offsets[s], inclusive, to offsets[s + 1], exclusive. The
+   * results are written to the caller-owned output arrays at index s, so no
+   * result arrays are allocated.
+   *
+   * @param stockChanges an array holding the stock price changes of every series.
+   * @param offsets the start index of every series, followed by the end index of the last one.
+   * @param maxProfits the array receiving the maximum profit of every series.
+   * @param buyDates the array receiving the buy date of every series.
+   * @param sellDates the array receiving the sell date of every series.
+   * @throws IllegalArgumentException if an output array is too small for the series.
+   */
+  public static void calculateMaxStockProfitBatch(int[] stockChanges, int[] offsets,
+                                                  int[] maxProfits, int[] buyDates,
+                                                  int[] sellDates) {
+    int series = checkBatchArguments(offsets, maxProfits, buyDates, sellDates);
+    calculateMaxStockProfitBatch(stockChanges, offsets, 0, series,
+            maxProfits, buyDates, sellDates);
+  }
+
+  /**
+   * The method calculates the maximum profit of many series of stock price
+   * changes in parallel. The series are divided into contiguous groups, and
+   * every group is submitted as one task to the given executor service.
+   *
+   * @param stockChanges an array holding the stock price changes of every series.
+   * @param offsets the start index of every series, followed by the end index of the last one.
+   * @param maxProfits the array receiving the maximum profit of every series.
+   * @param buyDates the array receiving the buy date of every series.
+   * @param sellDates the array receiving the sell date of every series.
+   * @param executor the executor service running the groups.
+   * @throws IllegalArgumentException if an output array is too small for the series.
+   * @throws InterruptedException If the thread is interrupted while waiting for the groups.
+   * @throws ExecutionException If the calculation of a group fails.
+   */
+  public static void calculateMaxStockProfitBatch(int[] stockChanges, int[] offsets,
+                                                  int[] maxProfits, int[] buyDates,
+                                                  int[] sellDates, ExecutorService executor)
+          throws InterruptedException, ExecutionException {
+    int series = checkBatchArguments(offsets, maxProfits, buyDates, sellDates);
+    int groups = Math.min(series, Runtime.getRuntime().availableProcessors() * 4);
+    List<Callable<Void>> tasks = new ArrayList<>(groups);
+    for (int group = 0; group < groups; group++) {
+      int fromSeries = (int) ((long) series * group / groups);
+      int toSeries = (int) ((long) series * (group + 1) / groups);
+      tasks.add(() -> {
+        calculateMaxStockProfitBatch(stockChanges, offsets, fromSeries, toSeries,
+                maxProfits, buyDates, sellDates);
+        return null;
+      });
+    }
+    for (Future<Void> future : executor.invokeAll(tasks)) {
+      future.get();
+    }
+  }
+
+  /**
+   * Calculates the maximum profit of a range of series, reusing a single scanner.
+   *
+   * @param stockChanges an array holding the stock price changes of every series.
+   * @param offsets the start index of every series, followed by the end index of the last one.
+   * @param fromSeries the first series to be calculated, inclusive.
+   * @param toSeries the last series to be calculated, exclusive.
+   * @param maxProfits the array receiving the maximum profit of every series.
+   * @param buyDates the array receiving the buy date of every series.
+   * @param sellDates the array receiving the sell date of every series.
+   */
+  private static void calculateMaxStockProfitBatch(int[] stockChanges, int[] offsets,
+                                                   int fromSeries, int toSeries,
+                                                   int[] maxProfits, int[] buyDates,
+                                                   int[] sellDates) {
+    MaxProfitScanner scanner = new MaxProfitScanner();
+    for (int s = fromSeries; s < toSeries; s++) {
+      scanner.reset();
+      scanner.accept(stockChanges, offsets[s], offsets[s + 1]);
+      maxProfits[s] = Math.toIntExact(scanner.getMaxProfit());
+      buyDates[s] = Math.toIntExact(scanner.getBuyDate());
+      sellDates[s] = Math.toIntExact(scanner.getSellDate());
+    }
+  }
+
+  /**
+   * Checks that the output arrays can hold a result for every series.
+   *
+   * @param offsets the start index of every series, followed by the end index of the last one.
+   * @param maxProfits the array receiving the maximum profit of every series.
+   * @param buyDates the array receiving the buy date of every series.
+   * @param sellDates the array receiving the sell date of every series.
+   * @return the number of series.
+   * @throws IllegalArgumentException if an output array is too small for the series.
+   */
+  private static int checkBatchArguments(int[] offsets, int[] maxProfits,
+                                         int[] buyDates, int[] sellDates) {
+    int series = Math.max(offsets.length - 1, 0);
+    if (maxProfits.length < series || buyDates.length < series || sellDates.length < series) {
+      throw new IllegalArgumentException("The output arrays must hold at least "
+              + series + " results.");
+    }
+    return series;
   }
 
   /**
@@ -54,6 +253,19 @@ public class StockProfitCalculator {
    * @param args an array of command-line arguments for the application.
    */
   public static void main(String[] args) {
+    //Price changes from a binary file.
+    if (args.length > 0) {
+      try {
+        long startTime = System.currentTimeMillis();
+        int[] array = calculateMaxStockProfit(Path.of(args[0]));
+        long endTime = System.currentTimeMillis();
+        printResult("Memory-mapped file " + args[0], array, endTime - startTime);
+      } catch (IOException e) {
+        System.out.println(e.getMessage());
+      }
+      return;
+    }
+
     //Test data.
     int[] stockChange1 = {-1, 3, -9, 2, 2, -1, 2, -1, -5};
 
@@ -65,25 +277,41 @@ public class StockProfitCalculator {
       stockChange3[i] = random.nextInt(200) - 100;
     }
 
-    //Start time.
+    //Sequential algorithm.
     long startTime = System.currentTimeMillis();
-
-    //Algorithm.
     int[] array = calculateMaxStockProfit(stockChange3);
-
-    //End time.
     long endTime = System.currentTimeMillis();
+    printResult("Sequential", array, endTime - startTime);
 
-    //Time used.
-    long time = endTime - startTime;
+    //Parallel algorithm.
+    long startTime2 = System.currentTimeMillis();
+    int[] array2 = calculateMaxStockProfitParallel(stockChange3);
+    long endTime2 = System.currentTimeMillis();
+    printResult("Parallel", array2, endTime2 - startTime2);
 
+    //Range query over a precomputed segment tree.
+    ProfitSegmentTree segmentTree = new ProfitSegmentTree(stockChange3);
+    long startTime3 = System.nanoTime();
+    int[] array3 = segmentTree.query(1, stockChange3.length / 2);
+    long endTime3 = System.nanoTime();
+    printResult("Range query, first half", array3, (endTime3 - startTime3) / 1000000);
+  }
 
+  /**
+   * Prints the result of a max profit calculation.
+   *
+   * @param title Description of the calculation.
+   * @param array The array containing information about the result.
+   * @param time The time used in milliseconds.
+   */
+  private static void printResult(String title, int[] array, long time) {
     System.out.println("------------------------");
-    System.out.println("Elements: " + array[0]);
-    System.out.println("Max profit: " + array[1]);
-    System.out.println("Buy date: " + array[2]);
-    System.out.println("Sell date: " + array[3]);
+    System.out.println(title);
+    System.out.println("Elements: " + array[LENGTH]);
+    System.out.println("Max profit: " + array[MAX_PROFIT]);
+    System.out.println("Buy date: " + array[BUY_DATE]);
+    System.out.println("Sell date: " + array[SELL_DATE]);
     System.out.println("Time: " + time + " ms.");
     System.out.println("------------------------");
   }
-}
\ No newline at end of file
+}
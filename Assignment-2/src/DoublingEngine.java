@@ -0,0 +1,197 @@
+import java.util.function.BinaryOperator;
+
+/**
+ * The class implements repeated application of an associative operation
+ * by doubling. The idea is the same as in
+ * {@link RecursiveMultiplier#recursiveMultiply2(int, double)}, but the
+ * exponent is processed bit by bit in a loop instead of by recursion.
+ * Applying an operation n times therefore takes O(log n) steps and uses
+ * constant stack space, no matter how large n is.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 28, 2023.
+ */
+public class DoublingEngine {
+
+  /**
+   * Combines n copies of a value with an associative operation,
+   * e.g. x + x + ... + x, or x * x * ... * x.
+   *
+   * @param x The value to be repeated.
+   * @param n The number of copies, at least 1.
+   * @param operation The associative operation combining two values.
+   * @param <T> The type of the values.
+   * @return The n copies of x combined.
+   * @throws IllegalArgumentException If n is less than 1.
+   */
+  public static <T> T repeat(T x, long n, BinaryOperator<T> operation) {
+    if (n < 1) {
+      throw new IllegalArgumentException("The number of copies has to be 1 or larger: " + n);
+    }
+    T result = null;
+    T doubled = x;
+    while (true) {
+      if ((n & 1) == 1) {
+        result = result == null ? doubled : operation.apply(result, doubled);
+      }
+      n >>>= 1;
+      if (n == 0) {
+        return result;
+      }
+      doubled = operation.apply(doubled, doubled);
+    }
+  }
+
+  /**
+   * Multiplies two numbers using addition and doubling.
+   *
+   * @param n The integer to be multiplied, at least 1.
+   * @param x The decimal to be multiplied.
+   * @return The product of the two numbers.
+   * @throws IllegalArgumentException If n is less than 1.
+   */
+  public static double multiply(long n, double x) {
+    if (n < 1) {
+      throw new IllegalArgumentException("The integer has to be 1 or larger: " + n);
+    }
+    double result = 0;
+    double doubled = x;
+    while (n > 0) {
+      if ((n & 1) == 1) {
+        result += doubled;
+      }
+      doubled += doubled;
+      n >>>= 1;
+    }
+    return result;
+  }
+
+  /**
+   * Adds two numbers modulo m without overflowing.
+   *
+   * @param a The first number, in the range [0, m).
+   * @param b The second number, in the range [0, m).
+   * @param m The modulus.
+   * @return (a + b) mod m.
+   */
+  private static long addMod(long a, long b, long m) {
+    return a >= m - b ? a - (m - b) : a + b;
+  }
+
+  /**
+   * Multiplies two numbers modulo m without overflowing. Small numbers are
+   * multiplied directly, larger ones by doubling with modular addition.
+   *
+   * @param a The first number.
+   * @param b The second number.
+   * @param m The modulus, at least 1.
+   * @return (a * b) mod m, in the range [0, m).
+   * @throws IllegalArgumentException If m is less than 1.
+   */
+  public static long multiplyMod(long a, long b, long m) {
+    if (m < 1) {
+      throw new IllegalArgumentException("The modulus has to be 1 or larger: " + m);
+    }
+    a = Math.floorMod(a, m);
+    b = Math.floorMod(b, m);
+    if ((a | b) >>> 31 == 0) {
+      //Both factors are below 2^31, so the product fits in a long.
+      return a * b % m;
+    }
+    long result = 0;
+    while (b > 0) {
+      if ((b & 1) == 1) {
+        result = addMod(result, a, m);
+      }
+      a = addMod(a, a, m);
+      b >>>= 1;
+    }
+    return result;
+  }
+
+  /**
+   * Raises a number to a power modulo m by repeated squaring.
+   *
+   * @param base The base.
+   * @param exponent The exponent, at least 0.
+   * @param m The modulus, at least 1.
+   * @return base^exponent mod m, in the range [0, m).
+   * @throws IllegalArgumentException If the exponent is negative or m is less than 1.
+   */
+  public static long powMod(long base, long exponent, long m) {
+    if (exponent < 0) {
+      throw new IllegalArgumentException("The exponent has to be 0 or larger: " + exponent);
+    }
+    long result = multiplyMod(1, 1, m);
+    long squared = multiplyMod(base, 1, m);
+    while (exponent > 0) {
+      if ((exponent & 1) == 1) {
+        result = multiplyMod(result, squared, m);
+      }
+      squared = multiplyMod(squared, squared, m);
+      exponent >>>= 1;
+    }
+    return result;
+  }
+
+  /**
+   * Multiplies two square matrices modulo m.
+   *
+   * @param a The first matrix.
+   * @param b The second matrix.
+   * @param m The modulus, at least 1.
+   * @return The product of the matrices, with every element in the range [0, m).
+   */
+  public static long[][] multiplyMatrixMod(long[][] a, long[][] b, long m) {
+    int size = a.length;
+    long[][] product = new long[size][size];
+    for (int i = 0; i < size; i++) {
+      for (int k = 0; k < size; k++) {
+        for (int j = 0; j < size; j++) {
+          product[i][j] = addMod(product[i][j], multiplyMod(a[i][k], b[k][j], m), m);
+        }
+      }
+    }
+    return product;
+  }
+
+  /**
+   * Raises a square matrix to a power modulo m by repeated squaring.
+   *
+   * @param matrix The square matrix.
+   * @param exponent The exponent, at least 1.
+   * @param m The modulus, at least 1.
+   * @return The matrix raised to the exponent, with every element in the range [0, m).
+   * @throws IllegalArgumentException If the exponent is less than 1.
+   */
+  public static long[][] powMatrixMod(long[][] matrix, long exponent, long m) {
+    long[][] reduced = new long[matrix.length][];
+    for (int i = 0; i < matrix.length; i++) {
+      reduced[i] = new long[matrix[i].length];
+      for (int j = 0; j < matrix[i].length; j++) {
+        reduced[i][j] = Math.floorMod(matrix[i][j], m);
+      }
+    }
+    return repeat(reduced, exponent, (a, b) -> multiplyMatrixMod(a, b, m));
+  }
+
+  /**
+   * Calculates the n-th Fibonacci number modulo m in O(log n) time.
+   *
+   * @param n The index of the Fibonacci number, at least 0.
+   * @param m The modulus, at least 1.
+   * @return F(n) mod m.
+   * @throws IllegalArgumentException If n is negative.
+   */
+  public static long fibonacciMod(long n, long m) {
+    if (n < 0) {
+      throw new IllegalArgumentException("The index has to be 0 or larger: " + n);
+    }
+    if (n == 0) {
+      return 0;
+    }
+    long[][] step = {{1, 1}, {1, 0}};
+    return powMatrixMod(step, n, m)[0][1];
+  }
+}
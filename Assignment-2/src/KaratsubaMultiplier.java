@@ -0,0 +1,323 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The class implements recursive divide-and-conquer multiplication of
+ * arbitrary-precision non-negative integers using the Karatsuba algorithm.
+ *
+ * <p>A number is stored as an array of 32-bit limbs, with the least
+ * significant limb first, and every limb is read as an unsigned value.
+ * The number zero is an empty array. Below the Karatsuba threshold the
+ * limbs are multiplied with the schoolbook algorithm.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Aug 28, 2023.
+ */
+public class KaratsubaMultiplier {
+  private static final long LONG_MASK = 0xffffffffL;
+  private static final int karatsubaThreshold = 48;
+  private static final int parallelThreshold = 1024;
+
+  /**
+   * The method multiplies two numbers with the Karatsuba algorithm.
+   *
+   * @param a The limbs of the first number.
+   * @param b The limbs of the second number.
+   * @return The limbs of the product.
+   */
+  public static int[] multiply(int[] a, int[] b) {
+    return karatsuba(trim(a), trim(b), false);
+  }
+
+  /**
+   * The method multiplies two numbers with the Karatsuba algorithm on the
+   * common fork/join pool.
+   *
+   * @param a The limbs of the first number.
+   * @param b The limbs of the second number.
+   * @return The limbs of the product.
+   */
+  public static int[] multiplyParallel(int[] a, int[] b) {
+    return multiplyParallel(a, b, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * The method multiplies two numbers with the Karatsuba algorithm. Above the
+   * parallel threshold two of the three sub-products are forked onto the pool,
+   * and the third one is computed by the current thread.
+   *
+   * @param a The limbs of the first number.
+   * @param b The limbs of the second number.
+   * @param pool The fork/join pool running the sub-products.
+   * @return The limbs of the product.
+   */
+  public static int[] multiplyParallel(int[] a, int[] b, ForkJoinPool pool) {
+    int[] x = trim(a);
+    int[] y = trim(b);
+    return pool.invoke(ForkJoinTask.adapt(() -> karatsuba(x, y, true)));
+  }
+
+  /**
+   * Recursively multiplies two trimmed numbers.
+   *
+   * @param a The limbs of the first number.
+   * @param b The limbs of the second number.
+   * @param parallel Whether large sub-products are forked.
+   * @return The limbs of the product.
+   */
+  private static int[] karatsuba(int[] a, int[] b, boolean parallel) {
+    if (a.length == 0 || b.length == 0) {
+      return new int[0];
+    }
+    if (Math.min(a.length, b.length) < karatsubaThreshold) {
+      return schoolbook(a, b);
+    }
+
+    //Split both numbers at the same limb: a = a1 * B^half + a0.
+    int half = (Math.max(a.length, b.length) + 1) / 2;
+    int[] a0 = lowLimbs(a, half);
+    int[] a1 = highLimbs(a, half);
+    int[] b0 = lowLimbs(b, half);
+    int[] b1 = highLimbs(b, half);
+
+    int[] z0;
+    int[] z1;
+    int[] z2;
+    if (parallel && Math.max(a.length, b.length) >= parallelThreshold) {
+      ForkJoinTask<int[]> lowTask = ForkJoinTask.adapt(() -> karatsuba(a0, b0, true)).fork();
+      ForkJoinTask<int[]> highTask = ForkJoinTask.adapt(() -> karatsuba(a1, b1, true)).fork();
+      z1 = karatsuba(add(a0, a1), add(b0, b1), true);
+      z2 = highTask.join();
+      z0 = lowTask.join();
+    } else {
+      z0 = karatsuba(a0, b0, parallel);
+      z2 = karatsuba(a1, b1, parallel);
+      z1 = karatsuba(add(a0, a1), add(b0, b1), parallel);
+    }
+
+    //(a0 + a1)(b0 + b1) - a0b0 - a1b1 = a0b1 + a1b0.
+    subtractInPlace(z1, z0);
+    subtractInPlace(z1, z2);
+
+    int[] product = new int[a.length + b.length];
+    addShiftedInPlace(product, z0, 0);
+    addShiftedInPlace(product, trim(z1), half);
+    addShiftedInPlace(product, z2, 2 * half);
+    return trim(product);
+  }
+
+  /**
+   * Multiplies two numbers with the schoolbook algorithm in O(n * m) time.
+   *
+   * @param a The limbs of the first number.
+   * @param b The limbs of the second number.
+   * @return The limbs of the product.
+   */
+  public static int[] schoolbook(int[] a, int[] b) {
+    int[] product = new int[a.length + b.length];
+    for (int i = 0; i < a.length; i++) {
+      long ai = a[i] & LONG_MASK;
+      if (ai == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < b.length; j++) {
+        long sum = ai * (b[j] & LONG_MASK) + (product[i + j] & LONG_MASK) + carry;
+        product[i + j] = (int) sum;
+        carry = sum >>> 32;
+      }
+      product[i + b.length] = (int) carry;
+    }
+    return trim(product);
+  }
+
+  /**
+   * Returns the lowest limbs of a number.
+   *
+   * @param x The limbs of the number.
+   * @param count The number of limbs.
+   * @return The trimmed limbs below the given count.
+   */
+  private static int[] lowLimbs(int[] x, int count) {
+    return trim(Arrays.copyOf(x, Math.min(count, x.length)));
+  }
+
+  /**
+   * Returns the limbs of a number from a given limb and up.
+   *
+   * @param x The limbs of the number.
+   * @param from The index of the lowest limb to be returned.
+   * @return The trimmed limbs from the given index and up.
+   */
+  private static int[] highLimbs(int[] x, int from) {
+    return from >= x.length ? new int[0] : Arrays.copyOfRange(x, from, x.length);
+  }
+
+  /**
+   * Adds two numbers.
+   *
+   * @param x The limbs of the first number.
+   * @param y The limbs of the second number.
+   * @return The limbs of the sum.
+   */
+  private static int[] add(int[] x, int[] y) {
+    if (x.length < y.length) {
+      return add(y, x);
+    }
+    int[] sum = Arrays.copyOf(x, x.length + 1);
+    addShiftedInPlace(sum, y, 0);
+    return trim(sum);
+  }
+
+  /**
+   * Adds a number shifted by a number of limbs to a target number.
+   * The target must be large enough to hold the sum.
+   *
+   * @param target The limbs of the target number.
+   * @param x The limbs of the number to be added.
+   * @param shift The number of limbs x is shifted by.
+   */
+  private static void addShiftedInPlace(int[] target, int[] x, int shift) {
+    long carry = 0;
+    int i = 0;
+    for (; i < x.length; i++) {
+      long sum = (target[i + shift] & LONG_MASK) + (x[i] & LONG_MASK) + carry;
+      target[i + shift] = (int) sum;
+      carry = sum >>> 32;
+    }
+    for (i += shift; carry != 0; i++) {
+      long sum = (target[i] & LONG_MASK) + carry;
+      target[i] = (int) sum;
+      carry = sum >>> 32;
+    }
+  }
+
+  /**
+   * Subtracts a number from a target number, which must be at least as large.
+   *
+   * @param target The limbs of the target number.
+   * @param x The limbs of the number to be subtracted.
+   */
+  private static void subtractInPlace(int[] target, int[] x) {
+    long borrow = 0;
+    int i = 0;
+    for (; i < x.length; i++) {
+      long difference = (target[i] & LONG_MASK) - (x[i] & LONG_MASK) - borrow;
+      target[i] = (int) difference;
+      borrow = difference >>> 63;
+    }
+    for (; borrow != 0; i++) {
+      long difference = (target[i] & LONG_MASK) - borrow;
+      target[i] = (int) difference;
+      borrow = difference >>> 63;
+    }
+  }
+
+  /**
+   * Removes the zero limbs above the most significant non-zero limb.
+   *
+   * @param x The limbs of the number.
+   * @return The limbs of the number without leading zero limbs.
+   */
+  private static int[] trim(int[] x) {
+    int length = x.length;
+    while (length > 0 && x[length - 1] == 0) {
+      length--;
+    }
+    return length == x.length ? x : Arrays.copyOf(x, length);
+  }
+
+  /**
+   * Converts a non-negative BigInteger to limbs.
+   *
+   * @param value The non-negative number.
+   * @return The limbs of the number.
+   * @throws IllegalArgumentException If the number is negative.
+   */
+  public static int[] fromBigInteger(BigInteger value) {
+    if (value.signum() < 0) {
+      throw new IllegalArgumentException("The number cannot be negative: " + value);
+    }
+    int[] limbs = new int[(value.bitLength() + 31) / 32];
+    for (int i = 0; i < limbs.length; i++) {
+      limbs[i] = value.shiftRight(32 * i).intValue();
+    }
+    return limbs;
+  }
+
+  /**
+   * Converts limbs to a BigInteger.
+   *
+   * @param limbs The limbs of the number.
+   * @return The number as a BigInteger.
+   */
+  public static BigInteger toBigInteger(int[] limbs) {
+    byte[] bytes = new byte[4 * limbs.length + 1];
+    for (int i = 0; i < limbs.length; i++) {
+      int limb = limbs[limbs.length - 1 - i];
+      bytes[1 + 4 * i] = (byte) (limb >>> 24);
+      bytes[2 + 4 * i] = (byte) (limb >>> 16);
+      bytes[3 + 4 * i] = (byte) (limb >>> 8);
+      bytes[4 + 4 * i] = (byte) limb;
+    }
+    return new BigInteger(bytes);
+  }
+
+  /**
+   * The main entry point for comparing the multiplier with BigInteger.
+   *
+   * @param args An array of command-line arguments for the application.
+   */
+  public static void main(String[] args) {
+    testMultiply(10000);
+    testMultiply(100000);
+    testMultiply(1000000);
+  }
+
+  /**
+   * Multiplies two random numbers with a given number of decimal digits
+   * using Karatsuba and BigInteger, and prints the execution times.
+   *
+   * @param digits The number of decimal digits in each factor.
+   */
+  public static void testMultiply(int digits) {
+    int limbCount = (int) Math.ceil(digits * Math.log(10) / Math.log(2) / 32);
+    Random random = new Random();
+    int[] a = new int[limbCount];
+    int[] b = new int[limbCount];
+    for (int i = 0; i < limbCount; i++) {
+      a[i] = random.nextInt();
+      b[i] = random.nextInt();
+    }
+    BigInteger bigA = toBigInteger(a);
+    BigInteger bigB = toBigInteger(b);
+
+    long startTime = System.nanoTime();
+    int[] product = multiply(a, b);
+    long endTime = System.nanoTime();
+    long time = endTime - startTime;
+
+    long startTime2 = System.nanoTime();
+    int[] product2 = multiplyParallel(a, b);
+    long endTime2 = System.nanoTime();
+    long time2 = endTime2 - startTime2;
+
+    long startTime3 = System.nanoTime();
+    BigInteger bigProduct = bigA.multiply(bigB);
+    long endTime3 = System.nanoTime();
+    long time3 = endTime3 - startTime3;
+
+    System.out.println("\n------ Karatsuba Multiply ------"
+            + "\nDigits: " + digits
+            + "\nLimbs: " + limbCount
+            + "\nKaratsuba: " + time / 1000000 + " ms."
+            + "\nKaratsuba parallel: " + time2 / 1000000 + " ms."
+            + "\nBigInteger: " + time3 / 1000000 + " ms."
+            + "\nEqual products: " + (toBigInteger(product).equals(bigProduct)
+            && Arrays.equals(product, product2)));
+  }
+}
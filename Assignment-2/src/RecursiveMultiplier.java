@@ -44,6 +44,19 @@ public class RecursiveMultiplier {
     }
   }
 
+  /**
+   * The method iteratively multiplies two given numbers using addition
+   * and doubling. It uses the same idea as recursiveMultiply2, but does
+   * not recurse and therefore cannot overflow the stack.
+   *
+   * @param n The integer to be multiplied.
+   * @param x The decimal to be multiplied.
+   * @return The product of the two numbers.
+   */
+  public static double iterativeMultiply(long n, double x) {
+    return DoublingEngine.multiply(n, x);
+  }
+
   /**
    * The main entry point for lunching the algorithm.
    *
@@ -67,6 +80,9 @@ public class RecursiveMultiplier {
 
     testMultiply1(4800, 22.5);
     testMultiply2(4800, 22.5);
+    testIterativeMultiply(4800, 22.5);
+
+    testIterativeMultiply(1000000000000L, 22.5);
   }
 
   /**
@@ -108,4 +124,24 @@ public class RecursiveMultiplier {
             + "\nProduct: " + product
             + "\nTime: " + time + " ns.");
   }
-}
\ No newline at end of file
+
+  /**
+   * Tests the iterativeMultiply method with a specific n and x value,
+   * and prints the results along with execution time.
+   *
+   * @param n The integer value.
+   * @param x The decimal value.
+   */
+  public static void testIterativeMultiply(long n, double x) {
+    long startTime = System.nanoTime();
+    double product = iterativeMultiply(n, x);
+    long endTime = System.nanoTime();
+    long time = endTime - startTime;
+
+    System.out.println("\n------ Iterative Multiply ------"
+            + "\nInteger n: " + n
+            + "\nDecimal x: " + x
+            + "\nProduct: " + product
+            + "\nTime: " + time + " ns.");
+  }
+}
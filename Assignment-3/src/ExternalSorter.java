@@ -0,0 +1,510 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The class sorts files of little-endian 32-bit integers that are larger than
+ * the available memory, using external merge sort.
+ *
+ * <p>The file is read in runs that fill the memory budget. Every run is
+ * sorted with {@link SortingAlgorithm#parallelQuicksort(int[], int, int, ForkJoinPool)}
+ * and written to a temporary file, and the files are then merged with a
+ * k-way merge over a heap of primitive integers. A merge reads at most 128
+ * runs at once, which keeps the number of open files well below the usual
+ * limits and gives every run a large buffer. With more runs, they are
+ * merged in several passes. The temporary files are created next to the
+ * output file and are deleted when the sort ends.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Sep 07, 2023.
+ */
+public class ExternalSorter {
+  private static final long defaultMemoryBudget = 256L << 20;
+  private static final int minBufferSize = 64 << 10;
+  private static final int maxBufferSize = 64 << 20;
+  private static final int ioBlockSize = 1 << 20;
+  private static final int maxFanIn = 128;
+
+  private final long memoryBudget;
+  private final ForkJoinPool pool;
+  private long bytesSorted;
+  private int runCount;
+  private int mergePasses;
+  private long elapsedNanos;
+
+  /**
+   * Constructs a sorter with a memory budget of 256 MiB running on the
+   * common fork/join pool.
+   */
+  public ExternalSorter() {
+    this(defaultMemoryBudget);
+  }
+
+  /**
+   * Constructs a sorter running on the common fork/join pool.
+   *
+   * @param memoryBudget The largest number of bytes of buffers and runs held in memory.
+   * @throws IllegalArgumentException If the budget is below 256 KiB.
+   */
+  public ExternalSorter(long memoryBudget) {
+    this(memoryBudget, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a sorter.
+   *
+   * @param memoryBudget The largest number of bytes of buffers and runs held in memory.
+   * @param pool The fork/join pool sorting the runs.
+   * @throws IllegalArgumentException If the budget is below 256 KiB.
+   */
+  public ExternalSorter(long memoryBudget, ForkJoinPool pool) {
+    if (memoryBudget < 4L * minBufferSize) {
+      throw new IllegalArgumentException("The memory budget has to be at least "
+              + 4 * minBufferSize + " bytes: " + memoryBudget);
+    }
+    this.memoryBudget = memoryBudget;
+    this.pool = pool;
+  }
+
+  /**
+   * Sorts a file of little-endian 32-bit integers into another file.
+   *
+   * @param input The path of the file to be sorted.
+   * @param output The path of the sorted file, which is replaced if it exists.
+   * @throws IOException If a file cannot be read or written, or the size of
+   *                     the input is not a multiple of 4 bytes.
+   */
+  public void sort(Path input, Path output) throws IOException {
+    long startTime = System.nanoTime();
+    Path directory = output.toAbsolutePath().getParent();
+    Path tempDirectory = Files.createTempDirectory(directory, "external-sort");
+    try {
+      List<Path> runs = createRuns(input, tempDirectory);
+      bytesSorted = Files.size(input);
+      runCount = runs.size();
+      mergePasses = 0;
+
+      //One buffer per run and one for the output.
+      int fanIn = (int) Math.max(2, Math.min(maxFanIn,
+              memoryBudget / minBufferSize - 1));
+      int runIndex = runs.size();
+      while (runs.size() > fanIn) {
+        List<Path> merged = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += fanIn) {
+          List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+          Path run = tempDirectory.resolve("run-" + runIndex++);
+          merge(group, run);
+          for (Path mergedRun : group) {
+            Files.delete(mergedRun);
+          }
+          merged.add(run);
+        }
+        runs = merged;
+        mergePasses++;
+      }
+
+      if (runs.isEmpty()) {
+        Files.write(output, new byte[0]);
+      } else if (runs.size() == 1) {
+        Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        merge(runs, output);
+        mergePasses++;
+      }
+    } finally {
+      List<Path> leftovers;
+      try (Stream<Path> paths = Files.list(tempDirectory)) {
+        leftovers = paths.collect(Collectors.toList());
+      }
+      for (Path path : leftovers) {
+        Files.deleteIfExists(path);
+      }
+      Files.deleteIfExists(tempDirectory);
+      elapsedNanos = System.nanoTime() - startTime;
+    }
+  }
+
+  /**
+   * Reads the input in runs, sorts every run and writes it to its own file.
+   * A run and its read buffer take up the whole memory budget, so there are
+   * as few runs as possible, and every run is sorted by all threads of the pool.
+   *
+   * @param input The path of the file to be sorted.
+   * @param tempDirectory The directory of the run files.
+   * @return The paths of the sorted runs, in the order they were read.
+   * @throws IOException If a file cannot be read or written, or the size of
+   *                     the input is not a multiple of 4 bytes.
+   */
+  private List<Path> createRuns(Path input, Path tempDirectory) throws IOException {
+    try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size % Integer.BYTES != 0) {
+        throw new IOException("The size of " + input + " is not a multiple of "
+                + Integer.BYTES + " bytes: " + size);
+      }
+      long elements = size / Integer.BYTES;
+
+      int blockSize = (int) Math.min(ioBlockSize, memoryBudget / 4) & -Integer.BYTES;
+      int runLength = (int) Math.min(Integer.MAX_VALUE - 8,
+              (memoryBudget - blockSize) / Integer.BYTES);
+      int runs = (int) ((elements + runLength - 1) / runLength);
+
+      List<Path> runFiles = new ArrayList<>(runs);
+      int[] array = new int[(int) Math.min(runLength, elements)];
+      ByteBuffer block = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+      for (int run = 0; run < runs; run++) {
+        long from = (long) run * runLength;
+        int length = (int) Math.min(runLength, elements - from);
+        Path runFile = tempDirectory.resolve("run-" + run);
+        readRun(channel, from * Integer.BYTES, array, length, block);
+        SortingAlgorithm.parallelQuicksort(array, 0, length - 1, pool);
+        writeRun(runFile, array, length, block);
+        runFiles.add(runFile);
+      }
+      return runFiles;
+    }
+  }
+
+  /**
+   * Reads integers from a position of a file into an array, one block at a time.
+   *
+   * @param channel The channel of the file.
+   * @param position The position of the first byte to be read.
+   * @param array The array receiving the integers.
+   * @param length The number of integers to be read.
+   * @param block The buffer used for every read.
+   * @throws IOException If the file cannot be read or ends early.
+   */
+  private static void readRun(FileChannel channel, long position, int[] array, int length,
+                              ByteBuffer block) throws IOException {
+    int count = 0;
+    while (count < length) {
+      block.clear();
+      block.limit((int) Math.min(block.capacity(), (long) (length - count) * Integer.BYTES));
+      while (block.hasRemaining()) {
+        int read = channel.read(block, position);
+        if (read < 0) {
+          throw new IOException("Unexpected end of file at byte " + position);
+        }
+        position += read;
+      }
+      block.flip();
+      IntBuffer values = block.asIntBuffer();
+      int valueCount = values.remaining();
+      values.get(array, count, valueCount);
+      count += valueCount;
+    }
+  }
+
+  /**
+   * Writes the first integers of an array to a new file, one block at a time.
+   *
+   * @param file The path of the file.
+   * @param array The array holding the integers.
+   * @param length The number of integers to be written.
+   * @param block The buffer used for every write.
+   * @throws IOException If the file cannot be written.
+   */
+  private static void writeRun(Path file, int[] array, int length, ByteBuffer block)
+          throws IOException {
+    try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      int count = 0;
+      while (count < length) {
+        block.clear();
+        int values = Math.min(block.capacity() / Integer.BYTES, length - count);
+        block.asIntBuffer().put(array, count, values);
+        block.limit(values * Integer.BYTES);
+        while (block.hasRemaining()) {
+          channel.write(block);
+        }
+        count += values;
+      }
+    }
+  }
+
+  /**
+   * Merges sorted run files into one sorted file. The smallest unread integer
+   * of every run is kept in a binary min-heap of primitive integers, together
+   * with the index of its run.
+   *
+   * @param runs The paths of the sorted runs.
+   * @param target The path of the merged file, which is replaced if it exists.
+   * @throws IOException If a file cannot be read or written.
+   */
+  private void merge(List<Path> runs, Path target) throws IOException {
+    int ways = runs.size();
+    int bufferSize = (int) Math.min(maxBufferSize, memoryBudget / (ways + 1)) & -Integer.BYTES;
+    FileChannel[] channels = new FileChannel[ways];
+    ByteBuffer[] buffers = new ByteBuffer[ways];
+    int[] heapValues = new int[ways];
+    int[] heapRuns = new int[ways];
+    int heapSize = 0;
+
+    try (FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      for (int run = 0; run < ways; run++) {
+        channels[run] = FileChannel.open(runs.get(run), StandardOpenOption.READ);
+        buffers[run] = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffers[run].flip();
+        if (fill(channels[run], buffers[run])) {
+          heapValues[heapSize] = buffers[run].getInt();
+          heapRuns[heapSize] = run;
+          siftUp(heapValues, heapRuns, heapSize++);
+        }
+      }
+
+      ByteBuffer outputBuffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+      while (heapSize > 0) {
+        if (!outputBuffer.hasRemaining()) {
+          flush(output, outputBuffer);
+        }
+        outputBuffer.putInt(heapValues[0]);
+
+        //Replaces the root with the next integer of its run, or with the last leaf.
+        int run = heapRuns[0];
+        if (fill(channels[run], buffers[run])) {
+          heapValues[0] = buffers[run].getInt();
+        } else {
+          heapSize--;
+          heapValues[0] = heapValues[heapSize];
+          heapRuns[0] = heapRuns[heapSize];
+        }
+        siftDown(heapValues, heapRuns, heapSize);
+      }
+      flush(output, outputBuffer);
+    } finally {
+      for (FileChannel channel : channels) {
+        if (channel != null) {
+          channel.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * Refills an empty read buffer from its channel.
+   *
+   * @param channel The channel of the run.
+   * @param buffer The read buffer of the run, ready to be read from.
+   * @return Whether the buffer has an integer left to read.
+   * @throws IOException If the run cannot be read.
+   */
+  private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+    if (buffer.hasRemaining()) {
+      return true;
+    }
+    buffer.clear();
+    while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+      //Reads until the buffer is full or the run has ended.
+    }
+    buffer.flip();
+    return buffer.hasRemaining();
+  }
+
+  /**
+   * Writes the contents of a write buffer to its channel and empties it.
+   *
+   * @param channel The channel of the output file.
+   * @param buffer The write buffer.
+   * @throws IOException If the file cannot be written.
+   */
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Moves a new leaf up the heap until its parent is not larger.
+   *
+   * @param values The integers of the heap.
+   * @param runs The runs of the integers.
+   * @param node The position of the new leaf.
+   */
+  private static void siftUp(int[] values, int[] runs, int node) {
+    int value = values[node];
+    int run = runs[node];
+    while (node > 0 && values[(node - 1) / 2] > value) {
+      int parent = (node - 1) / 2;
+      values[node] = values[parent];
+      runs[node] = runs[parent];
+      node = parent;
+    }
+    values[node] = value;
+    runs[node] = run;
+  }
+
+  /**
+   * Moves the root down the heap until both its children are not smaller.
+   *
+   * @param values The integers of the heap.
+   * @param runs The runs of the integers.
+   * @param heapSize The number of integers in the heap.
+   */
+  private static void siftDown(int[] values, int[] runs, int heapSize) {
+    if (heapSize == 0) {
+      return;
+    }
+    int value = values[0];
+    int run = runs[0];
+    int node = 0;
+    int child;
+    while ((child = 2 * node + 1) < heapSize) {
+      if (child + 1 < heapSize && values[child + 1] < values[child]) {
+        child++;
+      }
+      if (values[child] >= value) {
+        break;
+      }
+      values[node] = values[child];
+      runs[node] = runs[child];
+      node = child;
+    }
+    values[node] = value;
+    runs[node] = run;
+  }
+
+  /**
+   * Returns the size of the last sorted file.
+   *
+   * @return The number of bytes sorted.
+   */
+  public long getBytesSorted() {
+    return bytesSorted;
+  }
+
+  /**
+   * Returns the number of runs the last sorted file was split into.
+   *
+   * @return The number of runs.
+   */
+  public int getRunCount() {
+    return runCount;
+  }
+
+  /**
+   * Returns the number of merge passes of the last sort.
+   *
+   * @return The number of merge passes.
+   */
+  public int getMergePasses() {
+    return mergePasses;
+  }
+
+  /**
+   * Returns the time taken by the last sort.
+   *
+   * @return The time in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the throughput of the last sort.
+   *
+   * @return The number of bytes sorted per second.
+   */
+  public double getBytesPerSecond() {
+    return elapsedNanos == 0 ? 0 : bytesSorted * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * The main entry point for sorting a file. With the arguments
+   * {@code <input> <output> [memory budget in MiB]} the input file is sorted,
+   * and without arguments a file of random integers is generated and sorted.
+   *
+   * @param args An array of command-line arguments for the application.
+   */
+  public static void main(String[] args) {
+    try {
+      if (args.length >= 2) {
+        long budget = args.length > 2 ? Long.parseLong(args[2]) << 20 : defaultMemoryBudget;
+        ExternalSorter sorter = new ExternalSorter(budget);
+        sorter.sort(Path.of(args[0]), Path.of(args[1]));
+        printReport(args[0], budget, sorter);
+        return;
+      }
+
+      //Sorts 40 MB of random integers with an 8 MiB budget.
+      Path input = Files.createTempFile("external-sort-input", ".bin");
+      Path output = Files.createTempFile("external-sort-output", ".bin");
+      try {
+        Random random = new Random();
+        int[] numbers = new int[10000000];
+        for (int i = 0; i < numbers.length; i++) {
+          numbers[i] = random.nextInt();
+        }
+        Files.delete(input);
+        writeRun(input, numbers, numbers.length,
+                ByteBuffer.allocate(ioBlockSize).order(ByteOrder.LITTLE_ENDIAN));
+
+        ExternalSorter sorter = new ExternalSorter(8L << 20);
+        sorter.sort(input, output);
+        printReport("Random integers", 8L << 20, sorter);
+        System.out.println("Sorted: " + checkSorted(output));
+      } finally {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+      }
+    } catch (IOException e) {
+      System.out.println(e.getMessage());
+    }
+  }
+
+  /**
+   * Prints the statistics of a sort.
+   *
+   * @param title Description of the sorted file.
+   * @param budget The memory budget in bytes.
+   * @param sorter The sorter after the sort.
+   */
+  private static void printReport(String title, long budget, ExternalSorter sorter) {
+    System.out.println("\nExternal sort: " + title
+            + "\nBytes: " + sorter.getBytesSorted()
+            + "\nMemory budget: " + (budget >> 20) + " MiB"
+            + "\nRuns: " + sorter.getRunCount()
+            + "\nMerge passes: " + sorter.getMergePasses()
+            + "\nTime: " + sorter.getElapsedNanos() / 1000000 + " ms."
+            + "\nThroughput: " + (long) (sorter.getBytesPerSecond() / (1 << 20)) + " MiB/s.");
+  }
+
+  /**
+   * Checks whether a file of integers is sorted.
+   *
+   * @param file The path of the file.
+   * @return Whether the integers in the file are in ascending order.
+   * @throws IOException If the file cannot be read.
+   */
+  private static boolean checkSorted(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(ioBlockSize).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.flip();
+      int previous = Integer.MIN_VALUE;
+      while (fill(channel, buffer)) {
+        int value = buffer.getInt();
+        if (value < previous) {
+          return false;
+        }
+        previous = value;
+      }
+      return true;
+    }
+  }
+}
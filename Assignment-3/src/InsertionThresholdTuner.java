@@ -0,0 +1,218 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The class calibrates the threshold below which
+ * {@link SortingAlgorithm#quicksortWithHelperMethod(int[], int, int)} uses
+ * insertion sort. The best threshold depends on the caches of the machine,
+ * so every candidate threshold is timed on the running machine, and the
+ * fastest one is saved to a file that is read when SortingAlgorithm is loaded.
+ *
+ * <p>The file is given by the system property sorting.insertionThresholdFile,
+ * and is .sorting-algorithm.properties in the home directory by default.
+ * The system property sorting.insertionThreshold pins the threshold, and
+ * takes precedence over the file.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Sep 07, 2023.
+ */
+public class InsertionThresholdTuner {
+  private static final String thresholdProperty = "sorting.insertionThreshold";
+  private static final String fileProperty = "sorting.insertionThresholdFile";
+  private static final String thresholdKey = "insertionThreshold";
+  private static final int[] candidateThresholds = {8, 16, 24, 32, 48, 64, 96, 128, 192, 300};
+  private static final int calibrationElements = 1 << 20;
+  private static final int calibrationRounds = 5;
+
+  /**
+   * Times every candidate threshold with the default number of elements and rounds.
+   *
+   * @return The fastest threshold.
+   */
+  public static int calibrate() {
+    return calibrate(calibrationElements, calibrationRounds);
+  }
+
+  /**
+   * Times quicksort with every candidate threshold on the same random arrays
+   * and returns the fastest threshold. Every candidate is run once before it
+   * is timed, and the shortest of its rounds is used, which makes the result
+   * less sensitive to garbage collection and other noise.
+   *
+   * @param elements The number of elements in the arrays.
+   * @param rounds The number of timed sorts per candidate, at least 1.
+   * @return The fastest threshold.
+   * @throws IllegalArgumentException If the rounds are less than 1.
+   */
+  public static int calibrate(int elements, int rounds) {
+    if (rounds < 1) {
+      throw new IllegalArgumentException("The number of rounds has to be 1 or larger: " + rounds);
+    }
+    Random random = new Random(42);
+    int[] input = new int[elements];
+    for (int i = 0; i < elements; i++) {
+      input[i] = random.nextInt();
+    }
+    int[] array = new int[elements];
+
+    int bestThreshold = candidateThresholds[0];
+    long bestTime = Long.MAX_VALUE;
+    for (int threshold : candidateThresholds) {
+      long time = Long.MAX_VALUE;
+      for (int round = 0; round <= rounds; round++) {
+        System.arraycopy(input, 0, array, 0, elements);
+        long startTime = System.nanoTime();
+        SortingAlgorithm.quicksortWithHelperMethod(array, 0, elements - 1, threshold);
+        long endTime = System.nanoTime();
+        //Round 0 warms up the candidate.
+        if (round > 0) {
+          time = Math.min(time, endTime - startTime);
+        }
+      }
+      if (time < bestTime) {
+        bestTime = time;
+        bestThreshold = threshold;
+      }
+    }
+    return bestThreshold;
+  }
+
+  /**
+   * Calibrates the threshold, saves it to the threshold file and makes
+   * SortingAlgorithm use it.
+   *
+   * @return The fastest threshold.
+   * @throws IOException If the threshold file cannot be written.
+   */
+  public static int calibrateAndSave() throws IOException {
+    int threshold = calibrate();
+    save(getThresholdFile(), threshold);
+    SortingAlgorithm.setInsertionThreshold(threshold);
+    return threshold;
+  }
+
+  /**
+   * Saves a threshold to a file.
+   *
+   * @param file The path of the file.
+   * @param threshold The threshold.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(Path file, int threshold) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty(thresholdKey, Integer.toString(threshold));
+    try (Writer writer = Files.newBufferedWriter(file)) {
+      properties.store(writer, "Calibrated with " + Runtime.getRuntime().availableProcessors()
+              + " processors on Java " + System.getProperty("java.version"));
+    }
+  }
+
+  /**
+   * Returns the threshold SortingAlgorithm starts with: the pinned threshold
+   * if the system property is set, else the saved threshold if the file
+   * exists, else the default threshold.
+   *
+   * <p>An unreadable or invalid file only prints a warning, since it lives
+   * outside the project and must not stop SortingAlgorithm from loading.</p>
+   *
+   * @param defaultThreshold The threshold used when none is pinned or saved.
+   * @return The threshold to start with.
+   * @throws IllegalArgumentException If the pinned threshold is not an
+   *                                  integer of at least 2.
+   */
+  public static int loadThreshold(int defaultThreshold) {
+    String pinned = System.getProperty(thresholdProperty);
+    if (pinned != null) {
+      return parseThreshold(pinned, "system property " + thresholdProperty);
+    }
+    Path file = getThresholdFile();
+    if (!Files.isRegularFile(file)) {
+      return defaultThreshold;
+    }
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    } catch (IOException | IllegalArgumentException e) {
+      warnDefault(file, e.getMessage(), defaultThreshold);
+      return defaultThreshold;
+    }
+    String saved = properties.getProperty(thresholdKey);
+    if (saved == null) {
+      return defaultThreshold;
+    }
+    try {
+      return parseThreshold(saved, file.toString());
+    } catch (IllegalArgumentException e) {
+      warnDefault(file, e.getMessage(), defaultThreshold);
+      return defaultThreshold;
+    }
+  }
+
+  /**
+   * Warns that the threshold file could not be used.
+   *
+   * @param file The path of the threshold file.
+   * @param reason Why the file could not be used.
+   * @param defaultThreshold The threshold used instead.
+   */
+  private static void warnDefault(Path file, String reason, int defaultThreshold) {
+    System.err.println("Warning: ignoring the insertion threshold file " + file + " ("
+            + reason + "), using " + defaultThreshold);
+  }
+
+  /**
+   * Parses a pinned or saved threshold.
+   *
+   * @param value The threshold as text.
+   * @param source Where the threshold was read from.
+   * @return The threshold.
+   * @throws IllegalArgumentException If the threshold is not an integer of at least 2.
+   */
+  private static int parseThreshold(String value, String source) {
+    try {
+      int threshold = Integer.parseInt(value.trim());
+      if (threshold >= 2) {
+        return threshold;
+      }
+    } catch (NumberFormatException e) {
+      //Reported below.
+    }
+    throw new IllegalArgumentException("Invalid insertion threshold in " + source + ": " + value);
+  }
+
+  /**
+   * Returns the path of the threshold file.
+   *
+   * @return The path given by the system property, or the default path.
+   */
+  public static Path getThresholdFile() {
+    String file = System.getProperty(fileProperty);
+    return file != null ? Path.of(file)
+            : Path.of(System.getProperty("user.home"), ".sorting-algorithm.properties");
+  }
+
+  /**
+   * The main entry point for the tuner. With the argument {@code calibrate}
+   * the threshold is calibrated and saved, and in every case the threshold
+   * is printed, so deploy scripts can read it and pin it.
+   *
+   * @param args An array of command-line arguments for the application.
+   */
+  public static void main(String[] args) {
+    if (args.length > 0 && args[0].equalsIgnoreCase("calibrate")) {
+      try {
+        calibrateAndSave();
+      } catch (IOException e) {
+        System.out.println(e.getMessage());
+        return;
+      }
+    }
+    System.out.println(SortingAlgorithm.getInsertionThreshold());
+  }
+}
@@ -0,0 +1,579 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The class provides the quicksort algorithm of
+ * {@link SortingAlgorithm#quicksortWithHelperMethod(int[], int, int)} for
+ * long and double arrays, and for sorting an int array of values, such as
+ * ids, by a parallel array of keys. Every kernel works directly on the
+ * primitive arrays with median-of-three pivots and insertion sort below
+ * {@link SortingAlgorithm#getInsertionThreshold()}, so nothing is boxed.
+ *
+ * <p>Doubles are sorted in the same order as {@link Arrays#sort(double[])}:
+ * -0.0 comes before 0.0, and NaN comes last.</p>
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Sep 07, 2023.
+ */
+public class PrimitiveSortingAlgorithm {
+  private static final int elementsInArray = 1000000;
+
+  /**
+   * The method sorts a long array using the quicksort algorithm aided by a helper algorithm.
+   *
+   * @param array The long array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void quicksort(long[] array, int lowIndex, int highIndex) {
+    quicksortByKey(array, null, lowIndex, highIndex);
+  }
+
+  /**
+   * The method sorts a double array using the quicksort algorithm aided by a helper algorithm.
+   *
+   * @param array The double array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void quicksort(double[] array, int lowIndex, int highIndex) {
+    quicksortByKey(array, null, lowIndex, highIndex);
+  }
+
+  /**
+   * The method sorts an array of keys and moves the values at the same
+   * indexes along with them, so that values[i] still belongs to keys[i].
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @throws IllegalArgumentException If the values do not cover the range.
+   */
+  public static void quicksortByKey(int[] keys, int[] values, int lowIndex, int highIndex) {
+    checkValues(values, highIndex);
+    quicksortByKey(keys, values, lowIndex, highIndex, SortingAlgorithm.getInsertionThreshold());
+  }
+
+  /**
+   * The method sorts an array of keys and moves the values at the same
+   * indexes along with them, so that values[i] still belongs to keys[i].
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @throws IllegalArgumentException If the values do not cover the range.
+   */
+  public static void quicksortByKey(long[] keys, int[] values, int lowIndex, int highIndex) {
+    checkValues(values, highIndex);
+    quicksortByKey(keys, values, lowIndex, highIndex, SortingAlgorithm.getInsertionThreshold());
+  }
+
+  /**
+   * The method sorts an array of keys and moves the values at the same
+   * indexes along with them, so that values[i] still belongs to keys[i].
+   * NaN keys are moved to the end before the sort, since they cannot be
+   * compared with the other keys, and negative zeros are moved in front of
+   * positive zeros after it.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @throws IllegalArgumentException If the values do not cover the range.
+   */
+  public static void quicksortByKey(double[] keys, int[] values, int lowIndex, int highIndex) {
+    checkValues(values, highIndex);
+    int lastNumber = highIndex;
+    for (int i = highIndex; i >= lowIndex; i--) {
+      if (Double.isNaN(keys[i])) {
+        swap(keys, values, i, lastNumber--);
+      }
+    }
+    quicksortByKey(keys, values, lowIndex, lastNumber, SortingAlgorithm.getInsertionThreshold());
+
+    //Finds the first zero, and moves every -0.0 in front of the 0.0 values.
+    int low = lowIndex;
+    int high = lastNumber + 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (keys[middle] < 0.0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    int nextNegativeZero = low;
+    for (int i = low; i <= lastNumber && keys[i] == 0.0; i++) {
+      if (Double.doubleToRawLongBits(keys[i]) < 0) {
+        swap(keys, values, i, nextNegativeZero++);
+      }
+    }
+  }
+
+  /**
+   * The method sorts a range of values, such as ids, by a key extracted from
+   * every value. Every key is extracted once before the sort.
+   *
+   * @param values The values to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param keyExtractor The function giving the key of a value.
+   */
+  public static void sortByLongKey(int[] values, int lowIndex, int highIndex,
+                                   IntToLongFunction keyExtractor) {
+    int[] range = Arrays.copyOfRange(values, lowIndex, highIndex + 1);
+    long[] keys = new long[range.length];
+    for (int i = 0; i < range.length; i++) {
+      keys[i] = keyExtractor.applyAsLong(range[i]);
+    }
+    quicksortByKey(keys, range, 0, range.length - 1);
+    System.arraycopy(range, 0, values, lowIndex, range.length);
+  }
+
+  /**
+   * The method sorts a range of values, such as ids, by a key extracted from
+   * every value. Every key is extracted once before the sort.
+   *
+   * @param values The values to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param keyExtractor The function giving the key of a value.
+   */
+  public static void sortByDoubleKey(int[] values, int lowIndex, int highIndex,
+                                     IntToDoubleFunction keyExtractor) {
+    int[] range = Arrays.copyOfRange(values, lowIndex, highIndex + 1);
+    double[] keys = new double[range.length];
+    for (int i = 0; i < range.length; i++) {
+      keys[i] = keyExtractor.applyAsDouble(range[i]);
+    }
+    quicksortByKey(keys, range, 0, range.length - 1);
+    System.arraycopy(range, 0, values, lowIndex, range.length);
+  }
+
+  /**
+   * Checks that the values cover the range to be sorted.
+   *
+   * @param values The values moved with the keys, or null.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @throws IllegalArgumentException If the values do not cover the range.
+   */
+  private static void checkValues(int[] values, int highIndex) {
+    if (values != null && values.length <= highIndex) {
+      throw new IllegalArgumentException("The values have " + values.length
+              + " elements, but the range ends at index " + highIndex);
+    }
+  }
+
+  /**
+   * Sorts a range of int keys and their values.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param threshold The largest range sorted with insertion sort.
+   */
+  private static void quicksortByKey(int[] keys, int[] values, int lowIndex, int highIndex,
+                                     int threshold) {
+    if (highIndex - lowIndex > threshold) {
+      int pivot = partition(keys, values, lowIndex, highIndex);
+      quicksortByKey(keys, values, lowIndex, pivot - 1, threshold);
+      quicksortByKey(keys, values, pivot + 1, highIndex, threshold);
+    } else {
+      insertionSort(keys, values, lowIndex, highIndex);
+    }
+  }
+
+  /**
+   * Sorts a range of long keys and their values.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param threshold The largest range sorted with insertion sort.
+   */
+  private static void quicksortByKey(long[] keys, int[] values, int lowIndex, int highIndex,
+                                     int threshold) {
+    if (highIndex - lowIndex > threshold) {
+      int pivot = partition(keys, values, lowIndex, highIndex);
+      quicksortByKey(keys, values, lowIndex, pivot - 1, threshold);
+      quicksortByKey(keys, values, pivot + 1, highIndex, threshold);
+    } else {
+      insertionSort(keys, values, lowIndex, highIndex);
+    }
+  }
+
+  /**
+   * Sorts a range of double keys without NaN and their values.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param threshold The largest range sorted with insertion sort.
+   */
+  private static void quicksortByKey(double[] keys, int[] values, int lowIndex, int highIndex,
+                                     int threshold) {
+    if (highIndex - lowIndex > threshold) {
+      int pivot = partition(keys, values, lowIndex, highIndex);
+      quicksortByKey(keys, values, lowIndex, pivot - 1, threshold);
+      quicksortByKey(keys, values, pivot + 1, highIndex, threshold);
+    } else {
+      insertionSort(keys, values, lowIndex, highIndex);
+    }
+  }
+
+  /**
+   * Partitions a range of int keys and their values around a median-of-three pivot.
+   *
+   * @param keys The keys to be partitioned.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be partitioned.
+   * @param highIndex The index of the last element in the range to be partitioned.
+   * @return The index of the pivot element after partitioning.
+   */
+  private static int partition(int[] keys, int[] values, int lowIndex, int highIndex) {
+    int leftIndex;
+    int rightIndex;
+    int median = median3sort(keys, values, lowIndex, highIndex);
+    int pivotValue = keys[median];
+    swap(keys, values, median, highIndex - 1);
+    for (leftIndex = lowIndex, rightIndex = highIndex - 1;;) {
+      while (keys[++leftIndex] < pivotValue);
+      while (keys[--rightIndex] > pivotValue);
+      if (leftIndex >= rightIndex) break;
+      swap(keys, values, leftIndex, rightIndex);
+    }
+    swap(keys, values, leftIndex, highIndex - 1);
+    return leftIndex;
+  }
+
+  /**
+   * Partitions a range of long keys and their values around a median-of-three pivot.
+   *
+   * @param keys The keys to be partitioned.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be partitioned.
+   * @param highIndex The index of the last element in the range to be partitioned.
+   * @return The index of the pivot element after partitioning.
+   */
+  private static int partition(long[] keys, int[] values, int lowIndex, int highIndex) {
+    int leftIndex;
+    int rightIndex;
+    int median = median3sort(keys, values, lowIndex, highIndex);
+    long pivotValue = keys[median];
+    swap(keys, values, median, highIndex - 1);
+    for (leftIndex = lowIndex, rightIndex = highIndex - 1;;) {
+      while (keys[++leftIndex] < pivotValue);
+      while (keys[--rightIndex] > pivotValue);
+      if (leftIndex >= rightIndex) break;
+      swap(keys, values, leftIndex, rightIndex);
+    }
+    swap(keys, values, leftIndex, highIndex - 1);
+    return leftIndex;
+  }
+
+  /**
+   * Partitions a range of double keys and their values around a median-of-three pivot.
+   *
+   * @param keys The keys to be partitioned.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be partitioned.
+   * @param highIndex The index of the last element in the range to be partitioned.
+   * @return The index of the pivot element after partitioning.
+   */
+  private static int partition(double[] keys, int[] values, int lowIndex, int highIndex) {
+    int leftIndex;
+    int rightIndex;
+    int median = median3sort(keys, values, lowIndex, highIndex);
+    double pivotValue = keys[median];
+    swap(keys, values, median, highIndex - 1);
+    for (leftIndex = lowIndex, rightIndex = highIndex - 1;;) {
+      while (keys[++leftIndex] < pivotValue);
+      while (keys[--rightIndex] > pivotValue);
+      if (leftIndex >= rightIndex) break;
+      swap(keys, values, leftIndex, rightIndex);
+    }
+    swap(keys, values, leftIndex, highIndex - 1);
+    return leftIndex;
+  }
+
+  /**
+   * Sorts the first, middle and last int key of a range and returns the middle index.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first key.
+   * @param highIndex The index of the last key.
+   * @return The index of the median key among the three.
+   */
+  private static int median3sort(int[] keys, int[] values, int lowIndex, int highIndex) {
+    int median = (lowIndex + highIndex) / 2;
+    if (keys[lowIndex] > keys[median]) {
+      swap(keys, values, lowIndex, median);
+    }
+    if (keys[median] > keys[highIndex]) {
+      swap(keys, values, median, highIndex);
+      if (keys[lowIndex] > keys[median]) {
+        swap(keys, values, lowIndex, median);
+      }
+    }
+    return median;
+  }
+
+  /**
+   * Sorts the first, middle and last long key of a range and returns the middle index.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first key.
+   * @param highIndex The index of the last key.
+   * @return The index of the median key among the three.
+   */
+  private static int median3sort(long[] keys, int[] values, int lowIndex, int highIndex) {
+    int median = (lowIndex + highIndex) / 2;
+    if (keys[lowIndex] > keys[median]) {
+      swap(keys, values, lowIndex, median);
+    }
+    if (keys[median] > keys[highIndex]) {
+      swap(keys, values, median, highIndex);
+      if (keys[lowIndex] > keys[median]) {
+        swap(keys, values, lowIndex, median);
+      }
+    }
+    return median;
+  }
+
+  /**
+   * Sorts the first, middle and last double key of a range and returns the middle index.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first key.
+   * @param highIndex The index of the last key.
+   * @return The index of the median key among the three.
+   */
+  private static int median3sort(double[] keys, int[] values, int lowIndex, int highIndex) {
+    int median = (lowIndex + highIndex) / 2;
+    if (keys[lowIndex] > keys[median]) {
+      swap(keys, values, lowIndex, median);
+    }
+    if (keys[median] > keys[highIndex]) {
+      swap(keys, values, median, highIndex);
+      if (keys[lowIndex] > keys[median]) {
+        swap(keys, values, lowIndex, median);
+      }
+    }
+    return median;
+  }
+
+  /**
+   * Sorts a range of int keys and their values using insertion sort.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  private static void insertionSort(int[] keys, int[] values, int lowIndex, int highIndex) {
+    for (int i = lowIndex + 1; i <= highIndex; i++) {
+      int key = keys[i];
+      int value = values != null ? values[i] : 0;
+      int j = i - 1;
+      while (j >= lowIndex && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        if (values != null) {
+          values[j + 1] = values[j];
+        }
+        --j;
+      }
+      keys[j + 1] = key;
+      if (values != null) {
+        values[j + 1] = value;
+      }
+    }
+  }
+
+  /**
+   * Sorts a range of long keys and their values using insertion sort.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  private static void insertionSort(long[] keys, int[] values, int lowIndex, int highIndex) {
+    for (int i = lowIndex + 1; i <= highIndex; i++) {
+      long key = keys[i];
+      int value = values != null ? values[i] : 0;
+      int j = i - 1;
+      while (j >= lowIndex && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        if (values != null) {
+          values[j + 1] = values[j];
+        }
+        --j;
+      }
+      keys[j + 1] = key;
+      if (values != null) {
+        values[j + 1] = value;
+      }
+    }
+  }
+
+  /**
+   * Sorts a range of double keys and their values using insertion sort.
+   *
+   * @param keys The keys to be sorted.
+   * @param values The values moved with the keys, or null.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  private static void insertionSort(double[] keys, int[] values, int lowIndex, int highIndex) {
+    for (int i = lowIndex + 1; i <= highIndex; i++) {
+      double key = keys[i];
+      int value = values != null ? values[i] : 0;
+      int j = i - 1;
+      while (j >= lowIndex && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        if (values != null) {
+          values[j + 1] = values[j];
+        }
+        --j;
+      }
+      keys[j + 1] = key;
+      if (values != null) {
+        values[j + 1] = value;
+      }
+    }
+  }
+
+  /**
+   * Swaps two int keys and their values.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param i The index of the first element to be swapped.
+   * @param j The index of the second element to be swapped.
+   */
+  private static void swap(int[] keys, int[] values, int i, int j) {
+    int temp = keys[j];
+    keys[j] = keys[i];
+    keys[i] = temp;
+    if (values != null) {
+      SortingAlgorithm.swap(values, i, j);
+    }
+  }
+
+  /**
+   * Swaps two long keys and their values.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param i The index of the first element to be swapped.
+   * @param j The index of the second element to be swapped.
+   */
+  private static void swap(long[] keys, int[] values, int i, int j) {
+    long temp = keys[j];
+    keys[j] = keys[i];
+    keys[i] = temp;
+    if (values != null) {
+      SortingAlgorithm.swap(values, i, j);
+    }
+  }
+
+  /**
+   * Swaps two double keys and their values.
+   *
+   * @param keys The keys.
+   * @param values The values moved with the keys, or null.
+   * @param i The index of the first element to be swapped.
+   * @param j The index of the second element to be swapped.
+   */
+  private static void swap(double[] keys, int[] values, int i, int j) {
+    double temp = keys[j];
+    keys[j] = keys[i];
+    keys[i] = temp;
+    if (values != null) {
+      SortingAlgorithm.swap(values, i, j);
+    }
+  }
+
+  /**
+   * The main entry point for comparing the primitive kernels with boxed sorting.
+   *
+   * @param args An array of command-line arguments for the application.
+   */
+  public static void main(String[] args) {
+    Random random = new Random();
+    long[] timestamps = new long[elementsInArray];
+    double[] scores = new double[elementsInArray];
+    int[] ids = new int[elementsInArray];
+    for (int i = 0; i < elementsInArray; i++) {
+      timestamps[i] = 1_600_000_000_000L + (random.nextLong() & 0xffffffffffL);
+      scores[i] = random.nextGaussian();
+      ids[i] = i;
+    }
+
+    long startTime = System.currentTimeMillis();
+    quicksort(timestamps, 0, timestamps.length - 1);
+    long endTime = System.currentTimeMillis();
+    boolean sorted = true;
+    for (int i = 1; i < timestamps.length; i++) {
+      sorted &= timestamps[i - 1] <= timestamps[i];
+    }
+    printResult("Quicksort of long timestamps.", endTime - startTime, sorted);
+
+    double[] scoresCopy = scores.clone();
+    long startTime2 = System.currentTimeMillis();
+    quicksort(scoresCopy, 0, scoresCopy.length - 1);
+    long endTime2 = System.currentTimeMillis();
+    double[] expected = scores.clone();
+    Arrays.sort(expected);
+    printResult("Quicksort of double scores.", endTime2 - startTime2,
+            Arrays.equals(scoresCopy, expected));
+
+    int[] idsByScore = ids.clone();
+    long startTime3 = System.currentTimeMillis();
+    sortByDoubleKey(idsByScore, 0, idsByScore.length - 1, id -> scores[id]);
+    long endTime3 = System.currentTimeMillis();
+    boolean sortedByScore = true;
+    for (int i = 1; i < idsByScore.length; i++) {
+      sortedByScore &= scores[idsByScore[i - 1]] <= scores[idsByScore[i]];
+    }
+    printResult("Ids sorted by score.", endTime3 - startTime3, sortedByScore);
+
+    List<Integer> boxedIds = new ArrayList<>(elementsInArray);
+    for (int id : ids) {
+      boxedIds.add(id);
+    }
+    long startTime4 = System.currentTimeMillis();
+    boxedIds.sort(Comparator.comparingDouble(id -> scores[id]));
+    long endTime4 = System.currentTimeMillis();
+    printResult("Boxed ids sorted by score with a comparator.", endTime4 - startTime4,
+            scores[boxedIds.get(0)] == scores[idsByScore[0]]);
+  }
+
+  /**
+   * Prints the result of a sort.
+   *
+   * @param title Description for the sorting operation.
+   * @param time The time taken for the sorting operation in milliseconds.
+   * @param isSorted Whether the result is sorted.
+   */
+  private static void printResult(String title, long time, boolean isSorted) {
+    System.out.println("\n" + title
+            + "\nElements: " + elementsInArray
+            + "\nTime: " + time + " ms."
+            + "\nSorted: " + isSorted);
+  }
+}
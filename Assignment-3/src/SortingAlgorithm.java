@@ -1,4 +1,10 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
 
 /**
  * The class provides methods to perform quicksort algorithm on an array.
@@ -8,8 +14,13 @@ import java.util.Random;
  * @since Sep 07, 2023.
  */
 public class SortingAlgorithm {
-  private static final int insertionThreshold = 300;
+  private static final int defaultInsertionThreshold = 300;
   private static final int elementsInArray = 1000000;
+  private static final int parallelThreshold = 1 << 16;
+  private static final int radixBuckets = 256;
+  private static final int radixPasses = 4;
+  private static volatile int insertionThreshold =
+          InsertionThresholdTuner.loadThreshold(defaultInsertionThreshold);
 
   /**
    * The method sorts an integer array using the quicksort
@@ -20,15 +31,649 @@ public class SortingAlgorithm {
    * @param highIndex The index of the last element in the range to be sorted.
    */
   public static void quicksortWithHelperMethod(int[] array, int lowIndex, int highIndex) {
-    if (highIndex - lowIndex > insertionThreshold) {
+    quicksortWithThreshold(array, lowIndex, highIndex, insertionThreshold);
+  }
+
+  /**
+   * The method sorts an integer array using the quicksort algorithm aided
+   * by a helper algorithm, switching to insertion sort at a given threshold.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param threshold The largest distance between the first and last index
+   *                  of a range sorted with insertion sort, at least 2.
+   * @throws IllegalArgumentException If the threshold is less than 2.
+   */
+  public static void quicksortWithHelperMethod(int[] array, int lowIndex, int highIndex,
+                                               int threshold) {
+    //Median-of-three partitioning needs at least three elements.
+    if (threshold < 2) {
+      throw new IllegalArgumentException("The threshold has to be 2 or larger: " + threshold);
+    }
+    quicksortWithThreshold(array, lowIndex, highIndex, threshold);
+  }
+
+  /**
+   * The recursion of quicksortWithHelperMethod, with a threshold already checked.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param threshold The largest distance sorted with insertion sort, at least 2.
+   */
+  private static void quicksortWithThreshold(int[] array, int lowIndex, int highIndex,
+                                             int threshold) {
+    if (highIndex - lowIndex > threshold) {
       int pivot = partition(array, lowIndex, highIndex);
-      quicksortWithHelperMethod(array, lowIndex, pivot - 1);
-      quicksortWithHelperMethod(array, pivot + 1, highIndex);
+      quicksortWithThreshold(array, lowIndex, pivot - 1, threshold);
+      quicksortWithThreshold(array, pivot + 1, highIndex, threshold);
     } else {
       insertionSort(array, lowIndex, highIndex);
     }
   }
 
+  /**
+   * Returns the threshold below which the quicksort variants use insertion
+   * sort. It is pinned with the system property sorting.insertionThreshold,
+   * or else read from the file saved by {@link InsertionThresholdTuner}, and
+   * is 300 if neither is set.
+   *
+   * @return The insertion sort threshold.
+   */
+  public static int getInsertionThreshold() {
+    return insertionThreshold;
+  }
+
+  /**
+   * Sets the threshold below which the quicksort variants use insertion sort.
+   *
+   * @param threshold The largest distance between the first and last index
+   *                  of a range sorted with insertion sort, at least 2.
+   * @throws IllegalArgumentException If the threshold is less than 2.
+   */
+  public static void setInsertionThreshold(int threshold) {
+    if (threshold < 2) {
+      throw new IllegalArgumentException("The threshold has to be 2 or larger: " + threshold);
+    }
+    insertionThreshold = threshold;
+  }
+
+  /**
+   * The method sorts an integer array using the quicksort algorithm aided
+   * by a helper algorithm on the common fork/join pool.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void parallelQuicksort(int[] array, int lowIndex, int highIndex) {
+    parallelQuicksort(array, lowIndex, highIndex, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * The method sorts an integer array using the quicksort algorithm aided
+   * by a helper algorithm. Above the parallel threshold both partitions are
+   * sorted as separate tasks on the pool, and below it the range is sorted
+   * by {@link #quicksortWithHelperMethod(int[], int, int)}.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param pool The fork/join pool sorting the partitions.
+   */
+  public static void parallelQuicksort(int[] array, int lowIndex, int highIndex,
+                                       ForkJoinPool pool) {
+    pool.invoke(ForkJoinTask.adapt(() -> parallelQuicksortTask(array, lowIndex, highIndex)));
+  }
+
+  /**
+   * Sorts a range of an array from within a fork/join task.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  private static void parallelQuicksortTask(int[] array, int lowIndex, int highIndex) {
+    if (highIndex - lowIndex > parallelThreshold) {
+      int pivot = partition(array, lowIndex, highIndex);
+      ForkJoinTask.invokeAll(
+              ForkJoinTask.adapt(() -> parallelQuicksortTask(array, lowIndex, pivot - 1)),
+              ForkJoinTask.adapt(() -> parallelQuicksortTask(array, pivot + 1, highIndex)));
+    } else {
+      quicksortWithHelperMethod(array, lowIndex, highIndex);
+    }
+  }
+
+  /**
+   * The method sorts an integer array using the quicksort algorithm with
+   * three-way partitioning aided by a helper algorithm. All elements equal
+   * to the pivot are gathered in one pass and are not sorted again, so
+   * arrays with many duplicates are sorted in close to linear time.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void quicksortThreeWay(int[] array, int lowIndex, int highIndex) {
+    if (highIndex - lowIndex > insertionThreshold) {
+      swap(array, median3sort(array, lowIndex, highIndex), lowIndex);
+      int pivotValue = array[lowIndex];
+
+      //Scans from both ends like partition, and keeps the elements equal to the
+      //pivot at the ends: [low, leftEqual] and [rightEqual, high].
+      int leftIndex = lowIndex;
+      int rightIndex = highIndex + 1;
+      int leftEqual = lowIndex;
+      int rightEqual = highIndex + 1;
+      while (true) {
+        while (array[++leftIndex] < pivotValue) {
+          if (leftIndex == highIndex) {
+            break;
+          }
+        }
+        while (array[--rightIndex] > pivotValue) {
+          if (rightIndex == lowIndex) {
+            break;
+          }
+        }
+        if (leftIndex == rightIndex && array[leftIndex] == pivotValue) {
+          swap(array, ++leftEqual, leftIndex);
+        }
+        if (leftIndex >= rightIndex) {
+          break;
+        }
+        swap(array, leftIndex, rightIndex);
+        if (array[leftIndex] == pivotValue) {
+          swap(array, ++leftEqual, leftIndex);
+        }
+        if (array[rightIndex] == pivotValue) {
+          swap(array, --rightEqual, rightIndex);
+        }
+      }
+
+      //Moves the elements equal to the pivot from the ends to the middle.
+      leftIndex = rightIndex + 1;
+      for (int i = lowIndex; i <= leftEqual; i++) {
+        swap(array, i, rightIndex--);
+      }
+      for (int i = highIndex; i >= rightEqual; i--) {
+        swap(array, i, leftIndex++);
+      }
+      quicksortThreeWay(array, lowIndex, rightIndex);
+      quicksortThreeWay(array, leftIndex, highIndex);
+    } else {
+      insertionSort(array, lowIndex, highIndex);
+    }
+  }
+
+  /**
+   * The method sorts an integer array using introsort. It runs as
+   * {@link #quicksortWithHelperMethod(int[], int, int)} until the recursion
+   * is deeper than 2 * log2(n), and then sorts the remaining range with
+   * heapsort. The worst case is therefore O(n log n) time, and the recursion
+   * depth never exceeds the depth limit.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void introsort(int[] array, int lowIndex, int highIndex) {
+    int length = highIndex - lowIndex + 1;
+    if (length > 1) {
+      int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(length));
+      introsort(array, lowIndex, highIndex, depthLimit);
+    }
+  }
+
+  /**
+   * Sorts a range with introsort within the remaining recursion depth.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param depthLimit The number of partitioning levels left before heapsort is used.
+   */
+  private static void introsort(int[] array, int lowIndex, int highIndex, int depthLimit) {
+    if (highIndex - lowIndex <= insertionThreshold) {
+      insertionSort(array, lowIndex, highIndex);
+    } else if (depthLimit == 0) {
+      heapsort(array, lowIndex, highIndex);
+    } else {
+      int pivot = partition(array, lowIndex, highIndex);
+      introsort(array, lowIndex, pivot - 1, depthLimit - 1);
+      introsort(array, pivot + 1, highIndex, depthLimit - 1);
+    }
+  }
+
+  /**
+   * The method sorts an integer array in place using the heapsort algorithm
+   * in O(n log n) time.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void heapsort(int[] array, int lowIndex, int highIndex) {
+    int length = highIndex - lowIndex + 1;
+    for (int i = length / 2 - 1; i >= 0; i--) {
+      siftDown(array, lowIndex, i, length);
+    }
+    for (int end = length - 1; end > 0; end--) {
+      swap(array, lowIndex, lowIndex + end);
+      siftDown(array, lowIndex, 0, end);
+    }
+  }
+
+  /**
+   * Moves an element down a max-heap stored in a range of an array until
+   * both its children are smaller.
+   *
+   * @param array The integer array holding the heap.
+   * @param offset The index of the root of the heap in the array.
+   * @param node The position of the element in the heap.
+   * @param heapSize The number of elements in the heap.
+   */
+  private static void siftDown(int[] array, int offset, int node, int heapSize) {
+    int value = array[offset + node];
+    int child;
+    while ((child = 2 * node + 1) < heapSize) {
+      if (child + 1 < heapSize && array[offset + child + 1] > array[offset + child]) {
+        child++;
+      }
+      if (array[offset + child] <= value) {
+        break;
+      }
+      array[offset + node] = array[offset + child];
+      node = child;
+    }
+    array[offset + node] = value;
+  }
+
+  /**
+   * The method sorts an integer array using LSD radix sort, one byte per
+   * pass, in O(n) time. A scratch buffer as large as the range is allocated
+   * for the call.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void radixSort(int[] array, int lowIndex, int highIndex) {
+    radixSort(array, lowIndex, highIndex, new int[Math.max(highIndex - lowIndex + 1, 0)]);
+  }
+
+  /**
+   * The method sorts an integer array using LSD radix sort, one byte per
+   * pass, in O(n) time. The elements are moved back and forth between the
+   * array and the scratch buffer, so a caller sorting many arrays can reuse
+   * one buffer. A pass is skipped when every element has the same byte in it.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param buffer The scratch buffer, at least as large as the range.
+   * @throws IllegalArgumentException If the buffer is smaller than the range.
+   */
+  public static void radixSort(int[] array, int lowIndex, int highIndex, int[] buffer) {
+    int length = highIndex - lowIndex + 1;
+    if (length < 2) {
+      return;
+    }
+    if (buffer.length < length) {
+      throw new IllegalArgumentException("The buffer holds " + buffer.length
+              + " elements, but the range has " + length);
+    }
+
+    //Counts the bytes of all passes in a single read of the array.
+    int[][] counts = new int[radixPasses][radixBuckets];
+    for (int i = lowIndex; i <= highIndex; i++) {
+      int value = array[i];
+      for (int pass = 0; pass < radixPasses; pass++) {
+        counts[pass][radixDigit(value, pass)]++;
+      }
+    }
+
+    int[] source = array;
+    int sourceOffset = lowIndex;
+    int[] target = buffer;
+    int targetOffset = 0;
+    for (int pass = 0; pass < radixPasses; pass++) {
+      int[] count = counts[pass];
+      if (count[radixDigit(source[sourceOffset], pass)] == length) {
+        continue;
+      }
+      int[] offsets = new int[radixBuckets];
+      for (int digit = 1; digit < radixBuckets; digit++) {
+        offsets[digit] = offsets[digit - 1] + count[digit - 1];
+      }
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        int value = source[i];
+        target[targetOffset + offsets[radixDigit(value, pass)]++] = value;
+      }
+
+      int[] swapArray = source;
+      source = target;
+      target = swapArray;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      System.arraycopy(source, sourceOffset, array, lowIndex, length);
+    }
+  }
+
+  /**
+   * The method sorts an integer array using LSD radix sort on the common
+   * fork/join pool.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   */
+  public static void parallelRadixSort(int[] array, int lowIndex, int highIndex) {
+    parallelRadixSort(array, lowIndex, highIndex, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * The method sorts an integer array using LSD radix sort, where the range is
+   * split into one chunk per thread of the pool. The chunks count their bytes
+   * and scatter their elements in parallel, and every chunk writes to its own
+   * part of each bucket, so the sort stays stable. Ranges below the parallel
+   * threshold are sorted by {@link #radixSort(int[], int, int)}.
+   *
+   * @param array The integer array to be sorted.
+   * @param lowIndex The index of the first element in the range to be sorted.
+   * @param highIndex The index of the last element in the range to be sorted.
+   * @param pool The fork/join pool running the chunks.
+   */
+  public static void parallelRadixSort(int[] array, int lowIndex, int highIndex,
+                                       ForkJoinPool pool) {
+    int length = highIndex - lowIndex + 1;
+    if (length < parallelThreshold) {
+      radixSort(array, lowIndex, highIndex);
+      return;
+    }
+    int chunks = Math.max(pool.getParallelism(), 1);
+    int chunkSize = (length + chunks - 1) / chunks;
+
+    //The totals do not depend on the order of the elements, so one count
+    //before the first pass tells which passes can be skipped.
+    int[][][] totals = new int[chunks][radixPasses][radixBuckets];
+    runChunks(pool, chunks, chunk -> {
+      int[][] count = totals[chunk];
+      int to = Math.min(lowIndex + (chunk + 1) * chunkSize, highIndex + 1);
+      for (int i = lowIndex + chunk * chunkSize; i < to; i++) {
+        int value = array[i];
+        for (int pass = 0; pass < radixPasses; pass++) {
+          count[pass][radixDigit(value, pass)]++;
+        }
+      }
+    });
+
+    int[] buffer = new int[length];
+    int[] source = array;
+    int sourceOffset = lowIndex;
+    boolean scattered = false;
+    for (int pass = 0; pass < radixPasses; pass++) {
+      int firstDigit = radixDigit(source[sourceOffset], pass);
+      int firstDigitCount = 0;
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        firstDigitCount += totals[chunk][pass][firstDigit];
+      }
+      if (firstDigitCount == length) {
+        continue;
+      }
+
+      //Until the first scatter the chunks hold the counted elements,
+      //and after it every chunk has to count its elements again.
+      int[] from = source;
+      int fromOffset = sourceOffset;
+      int currentPass = pass;
+      int[][] counts = new int[chunks][];
+      if (!scattered) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+          counts[chunk] = totals[chunk][pass];
+        }
+      } else {
+        runChunks(pool, chunks, chunk -> {
+          int[] count = new int[radixBuckets];
+          int to = Math.min(fromOffset + (chunk + 1) * chunkSize, fromOffset + length);
+          for (int i = fromOffset + chunk * chunkSize; i < to; i++) {
+            count[radixDigit(from[i], currentPass)]++;
+          }
+          counts[chunk] = count;
+        });
+      }
+      int[] target = source == array ? buffer : array;
+      int targetOffset = source == array ? 0 : lowIndex;
+
+      //Bucket by bucket, every chunk gets the next part of the bucket.
+      int[][] offsets = new int[chunks][radixBuckets];
+      int next = targetOffset;
+      for (int digit = 0; digit < radixBuckets; digit++) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+          offsets[chunk][digit] = next;
+          next += counts[chunk][digit];
+        }
+      }
+
+      runChunks(pool, chunks, chunk -> {
+        int[] offset = offsets[chunk];
+        int to = Math.min(fromOffset + (chunk + 1) * chunkSize, fromOffset + length);
+        for (int i = fromOffset + chunk * chunkSize; i < to; i++) {
+          int value = from[i];
+          target[offset[radixDigit(value, currentPass)]++] = value;
+        }
+      });
+      source = target;
+      sourceOffset = targetOffset;
+      scattered = true;
+    }
+    if (source != array) {
+      System.arraycopy(buffer, 0, array, lowIndex, length);
+    }
+  }
+
+  /**
+   * Runs a task for every chunk on a fork/join pool and waits for all of them.
+   *
+   * @param pool The fork/join pool running the tasks.
+   * @param chunks The number of chunks.
+   * @param chunkTask The task, given the index of the chunk.
+   */
+  private static void runChunks(ForkJoinPool pool, int chunks, IntConsumer chunkTask) {
+    pool.invoke(ForkJoinTask.adapt(() -> {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        int index = chunk;
+        tasks.add(ForkJoinTask.adapt(() -> chunkTask.accept(index)));
+      }
+      ForkJoinTask.invokeAll(tasks);
+    }));
+  }
+
+  /**
+   * Returns one byte of a value as a radix sort digit. The sign bit of the
+   * most significant byte is flipped, so negative values come first.
+   *
+   * @param value The value.
+   * @param pass The index of the byte, from the least significant one.
+   * @return The digit, in the range [0, 256).
+   */
+  private static int radixDigit(int value, int pass) {
+    int digit = (value >>> (8 * pass)) & 0xff;
+    return pass == radixPasses - 1 ? digit ^ 0x80 : digit;
+  }
+
+  /**
+   * The method finds the element that would be at index k if the range were
+   * sorted, using quickselect in expected O(n) time. The range is rearranged
+   * so that no element before index k is larger, and no element after it is
+   * smaller. Like introsort, the remaining range is sorted with heapsort if
+   * the partitioning goes deeper than 2 * log2(n), which bounds the worst
+   * case at O(n log n).
+   *
+   * @param array The integer array containing the range.
+   * @param lowIndex The index of the first element in the range.
+   * @param highIndex The index of the last element in the range.
+   * @param k The index of the element to be found, within the range.
+   * @return The element at index k.
+   * @throws IllegalArgumentException If k is not within the range.
+   */
+  public static int select(int[] array, int lowIndex, int highIndex, int k) {
+    if (k < lowIndex || k > highIndex) {
+      throw new IllegalArgumentException("Index " + k + " is not within the range "
+              + lowIndex + " to " + highIndex);
+    }
+    int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(highIndex - lowIndex + 1));
+    int threshold = insertionThreshold;
+    while (highIndex - lowIndex > threshold) {
+      if (depthLimit-- == 0) {
+        heapsort(array, lowIndex, highIndex);
+        return array[k];
+      }
+      int pivot = partition(array, lowIndex, highIndex);
+      if (k < pivot) {
+        highIndex = pivot - 1;
+      } else if (k > pivot) {
+        lowIndex = pivot + 1;
+      } else {
+        return array[k];
+      }
+    }
+    insertionSort(array, lowIndex, highIndex);
+    return array[k];
+  }
+
+  /**
+   * The method sorts the k smallest elements of a range into the first k
+   * positions of the range, in O(n + k log k) expected time. The order of
+   * the other elements is unspecified.
+   *
+   * @param array The integer array containing the range.
+   * @param lowIndex The index of the first element in the range.
+   * @param highIndex The index of the last element in the range.
+   * @param k The number of elements to be sorted, between 0 and the size of the range.
+   * @throws IllegalArgumentException If k is negative or larger than the range.
+   */
+  public static void partialSort(int[] array, int lowIndex, int highIndex, int k) {
+    if (k < 0 || k > highIndex - lowIndex + 1) {
+      throw new IllegalArgumentException("Cannot sort " + k + " elements of the range "
+              + lowIndex + " to " + highIndex);
+    }
+    if (k == 0) {
+      return;
+    }
+    select(array, lowIndex, highIndex, lowIndex + k - 1);
+    quicksortWithHelperMethod(array, lowIndex, lowIndex + k - 2);
+  }
+
+  /**
+   * The method finds the k largest elements of an array, in O(n + k log k)
+   * expected time. The array is not changed.
+   *
+   * @param array The integer array.
+   * @param k The number of elements to be found, between 0 and the length of the array.
+   * @return The k largest elements in descending order.
+   * @throws IllegalArgumentException If k is negative or larger than the array.
+   */
+  public static int[] topK(int[] array, int k) {
+    return topK(array, 0, array.length - 1, k);
+  }
+
+  /**
+   * The method finds the k largest elements of an array on the common fork/join pool.
+   *
+   * @param array The integer array.
+   * @param k The number of elements to be found, between 0 and the length of the array.
+   * @return The k largest elements in descending order.
+   * @throws IllegalArgumentException If k is negative or larger than the array.
+   */
+  public static int[] parallelTopK(int[] array, int k) {
+    return parallelTopK(array, k, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * The method finds the k largest elements of an array. The array is split
+   * into one chunk per thread of the pool, and every chunk selects its own k
+   * largest elements in parallel. Only these candidates take part in the
+   * final selection, since none of the other elements can be among the k
+   * largest. Arrays below the parallel threshold are handled by
+   * {@link #topK(int[], int)}.
+   *
+   * @param array The integer array.
+   * @param k The number of elements to be found, between 0 and the length of the array.
+   * @param pool The fork/join pool running the chunks.
+   * @return The k largest elements in descending order.
+   * @throws IllegalArgumentException If k is negative or larger than the array.
+   */
+  public static int[] parallelTopK(int[] array, int k, ForkJoinPool pool) {
+    if (k < 0 || k > array.length) {
+      throw new IllegalArgumentException("Cannot find the " + k
+              + " largest elements of " + array.length);
+    }
+    int chunks = Math.max(pool.getParallelism(), 1);
+    if (array.length < parallelThreshold || chunks == 1) {
+      return topK(array, k);
+    }
+    int chunkSize = (array.length + chunks - 1) / chunks;
+
+    int[][] chunkCandidates = new int[chunks][];
+    runChunks(pool, chunks, chunk -> {
+      int from = Math.min(chunk * chunkSize, array.length);
+      int to = Math.min(from + chunkSize, array.length);
+      int count = Math.min(k, to - from);
+      int[] copy = Arrays.copyOfRange(array, from, to);
+      if (count > 0 && count < copy.length) {
+        select(copy, 0, copy.length - 1, copy.length - count);
+      }
+      chunkCandidates[chunk] = Arrays.copyOfRange(copy, copy.length - count, copy.length);
+    });
+
+    int candidateCount = 0;
+    for (int[] candidates : chunkCandidates) {
+      candidateCount += candidates.length;
+    }
+    int[] allCandidates = new int[candidateCount];
+    int next = 0;
+    for (int[] candidates : chunkCandidates) {
+      System.arraycopy(candidates, 0, allCandidates, next, candidates.length);
+      next += candidates.length;
+    }
+    return topK(allCandidates, 0, candidateCount - 1, k);
+  }
+
+  /**
+   * Finds the k largest elements of a range without changing it.
+   *
+   * @param array The integer array containing the range.
+   * @param lowIndex The index of the first element in the range.
+   * @param highIndex The index of the last element in the range.
+   * @param k The number of elements to be found.
+   * @return The k largest elements in descending order.
+   * @throws IllegalArgumentException If k is negative or larger than the range.
+   */
+  private static int[] topK(int[] array, int lowIndex, int highIndex, int k) {
+    int length = highIndex - lowIndex + 1;
+    if (k < 0 || k > length) {
+      throw new IllegalArgumentException("Cannot find the " + k
+              + " largest elements of " + length);
+    }
+    int[] copy = Arrays.copyOfRange(array, lowIndex, highIndex + 1);
+    if (k > 0 && k < length) {
+      select(copy, 0, length - 1, length - k);
+    }
+    quicksortWithHelperMethod(copy, length - k, length - 1);
+
+    int[] largest = new int[k];
+    for (int i = 0; i < k; i++) {
+      largest[i] = copy[length - 1 - i];
+    }
+    return largest;
+  }
+
   /**
    * The method sorts an integer array using the quicksort algorithm.
    *
@@ -186,6 +831,81 @@ public class SortingAlgorithm {
     boolean isSumEqual4 = sumBeforeSort4 == sumAfterSort4;
     printSortResults("Quicksort without helper method on sorted array.",
             0, time4, numbersCopy, isSumEqual4);
+
+    //Parallel quicksort with helper method.
+    int[] numbers5 = generateArray();
+    int sumBeforeSort5 = calculateArraySum(numbers5);
+    long startTime5 = System.currentTimeMillis();
+    parallelQuicksort(numbers5, 0, numbers5.length - 1);
+    long endTime5 = System.currentTimeMillis();
+    long time5 = endTime5 - startTime5;
+    int sumAfterSort5 = calculateArraySum(numbers5);
+    boolean isSumEqual5 = sumBeforeSort5 == sumAfterSort5;
+    printSortResults("Parallel quicksort with helper method.",
+            insertionThreshold, time5, numbers5, isSumEqual5);
+
+    //Three-way quicksort with helper method.
+    int[] numbers6 = generateArray();
+    int sumBeforeSort6 = calculateArraySum(numbers6);
+    long startTime6 = System.currentTimeMillis();
+    quicksortThreeWay(numbers6, 0, numbers6.length - 1);
+    long endTime6 = System.currentTimeMillis();
+    long time6 = endTime6 - startTime6;
+    int sumAfterSort6 = calculateArraySum(numbers6);
+    boolean isSumEqual6 = sumBeforeSort6 == sumAfterSort6;
+    printSortResults("Three-way quicksort with helper method.",
+            insertionThreshold, time6, numbers6, isSumEqual6);
+
+    //Introsort on sorted array.
+    int sumBeforeSort7 = calculateArraySum(numbers6);
+    long startTime7 = System.currentTimeMillis();
+    introsort(numbers6, 0, numbers6.length - 1);
+    long endTime7 = System.currentTimeMillis();
+    long time7 = endTime7 - startTime7;
+    int sumAfterSort7 = calculateArraySum(numbers6);
+    boolean isSumEqual7 = sumBeforeSort7 == sumAfterSort7;
+    printSortResults("Introsort on sorted array.",
+            insertionThreshold, time7, numbers6, isSumEqual7);
+
+    //Radix sort.
+    int[] numbers8 = generateArray();
+    int[] numbers8Copy = numbers8.clone();
+    int sumBeforeSort8 = calculateArraySum(numbers8);
+    long startTime8 = System.currentTimeMillis();
+    radixSort(numbers8, 0, numbers8.length - 1);
+    long endTime8 = System.currentTimeMillis();
+    long time8 = endTime8 - startTime8;
+    int sumAfterSort8 = calculateArraySum(numbers8);
+    boolean isSumEqual8 = sumBeforeSort8 == sumAfterSort8;
+    printSortResults("Radix sort.", 0, time8, numbers8, isSumEqual8);
+
+    //Parallel radix sort.
+    long startTime9 = System.currentTimeMillis();
+    parallelRadixSort(numbers8Copy, 0, numbers8Copy.length - 1);
+    long endTime9 = System.currentTimeMillis();
+    long time9 = endTime9 - startTime9;
+    int sumAfterSort9 = calculateArraySum(numbers8Copy);
+    boolean isSumEqual9 = sumBeforeSort8 == sumAfterSort9;
+    printSortResults("Parallel radix sort.", 0, time9, numbers8Copy, isSumEqual9);
+
+    //Top 1000 elements compared with the largest elements after a full sort.
+    int[] numbers10 = generateArray();
+    long startTime10 = System.currentTimeMillis();
+    int[] top = topK(numbers10, 1000);
+    long endTime10 = System.currentTimeMillis();
+    long startTime11 = System.currentTimeMillis();
+    int[] parallelTop = parallelTopK(numbers10, 1000);
+    long endTime11 = System.currentTimeMillis();
+    quicksortWithHelperMethod(numbers10, 0, numbers10.length - 1);
+    boolean isTopCorrect = true;
+    for (int i = 0; i < top.length; i++) {
+      isTopCorrect &= top[i] == numbers10[numbers10.length - 1 - i] && parallelTop[i] == top[i];
+    }
+    System.out.println("\nTop 1000 elements."
+            + "\nElements: " + elementsInArray
+            + "\nTime: " + (endTime10 - startTime10) + " ms."
+            + "\nParallel time: " + (endTime11 - startTime11) + " ms."
+            + "\nEqual to full sort: " + isTopCorrect);
   }
 
   /**
@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BracketBatch {
+
+  // The files are small and mostly waiting on the disk, so there are more
+  // threads than processors
+  private static final int THREADS_PER_PROCESSOR = 4;
+
+  // The arguments are directories, which are searched recursively, files,
+  // and files starting with @ that list one file per line. Exits with 1 if
+  // the files cannot be listed, or if a file is invalid or cannot be read.
+  public static void main(String[] args) {
+    List<Path> files;
+    try {
+      files = collectFiles(args);
+    } catch (IOException e) {
+      System.err.println("Something went wrong while listing the given files: "
+          + e.getMessage());
+      System.exit(1);
+      return;
+    }
+
+    int threads = THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long startTime = System.nanoTime();
+    List<BracketFileResult> results;
+    try {
+      results = validate(files, executor);
+    } finally {
+      executor.shutdown();
+    }
+    long endTime = System.nanoTime();
+
+    int invalid = 0;
+    int failed = 0;
+    long lines = 0;
+    long maxNanos = 0;
+    for (BracketFileResult result : results) {
+      System.out.println(result);
+      if (result.getFailure() != null) {
+        failed++;
+      } else if (!result.isValid()) {
+        invalid++;
+      }
+      lines += result.getLines();
+      maxNanos = Math.max(maxNanos, result.getNanos());
+    }
+
+    double seconds = (endTime - startTime) / 1e9;
+    System.out.printf("%d files, %d invalid, %d failed, %d lines in %.3f s (%.0f lines/s)\n",
+        results.size(), invalid, failed, lines, seconds, lines / seconds);
+    System.out.printf("Slowest file: %.3f ms on %d threads\n", maxNanos / 1e6, threads);
+    if (invalid > 0 || failed > 0) {
+      System.exit(1);
+    }
+  }
+
+  // Throws an IOException naming the argument that could not be listed
+  public static List<Path> collectFiles(String[] args) throws IOException {
+    List<Path> files = new ArrayList<>();
+    for (String arg : args) {
+      try {
+        collectFiles(arg, files);
+      } catch (IOException | UncheckedIOException e) {
+        throw new IOException(arg + " (" + e + ")", e);
+      }
+    }
+    return files;
+  }
+
+  private static void collectFiles(String arg, List<Path> files) throws IOException {
+    if (arg.startsWith("@")) {
+      try (Stream<String> lines = Files.lines(Path.of(arg.substring(1)))) {
+        lines.filter(line -> !line.isBlank()).map(Path::of).forEach(files::add);
+      }
+    } else if (Files.isDirectory(Path.of(arg))) {
+      try (Stream<Path> paths = Files.walk(Path.of(arg))) {
+        files.addAll(paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+      }
+    } else {
+      files.add(Path.of(arg));
+    }
+  }
+
+  // Returns the results in the same order as the files
+  public static List<BracketFileResult> validate(List<Path> files, ExecutorService executor) {
+    List<Future<BracketFileResult>> futures = new ArrayList<>(files.size());
+    for (Path file : files) {
+      Callable<BracketFileResult> task = () -> validate(file);
+      futures.add(executor.submit(task));
+    }
+
+    List<BracketFileResult> results = new ArrayList<>(files.size());
+    for (Future<BracketFileResult> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while validating the files", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  public static BracketFileResult validate(Path file) {
+    long startTime = System.nanoTime();
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file);
+    } catch (IOException e) {
+      return new BracketFileResult(file, BracketValidator.VALID, 0,
+          System.nanoTime() - startTime, e.toString());
+    }
+
+    CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes));
+    long errorOffset = new BracketValidator().validate(chars);
+    return new BracketFileResult(file, errorOffset, countLines(bytes),
+        System.nanoTime() - startTime, null);
+  }
+
+  private static long countLines(byte[] bytes) {
+    long lines = 0;
+    for (byte b : bytes) {
+      if (b == '\n') {
+        lines++;
+      }
+    }
+    // The last line does not have to end with a line break
+    if (bytes.length > 0 && bytes[bytes.length - 1] != '\n') {
+      lines++;
+    }
+    return lines;
+  }
+}
+
+
+class BracketFileResult {
+  private final Path file;
+  private final long errorOffset;
+  private final long lines;
+  private final long nanos;
+  private final String failure;
+
+  public BracketFileResult(Path file, long errorOffset, long lines, long nanos, String failure) {
+    this.file = file;
+    this.errorOffset = errorOffset;
+    this.lines = lines;
+    this.nanos = nanos;
+    this.failure = failure;
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public boolean isValid() {
+    return failure == null && errorOffset == BracketValidator.VALID;
+  }
+
+  public long getErrorOffset() {
+    return errorOffset;
+  }
+
+  public long getLines() {
+    return lines;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  // The reason the file could not be read, or null
+  public String getFailure() {
+    return failure;
+  }
+
+  @Override
+  public String toString() {
+    String status;
+    if (failure != null) {
+      status = "failed: " + failure;
+    } else if (errorOffset == BracketValidator.VALID) {
+      status = "valid";
+    } else {
+      status = "invalid at offset " + errorOffset;
+    }
+    return String.format("%s : %s (%.3f ms)", file, status, nanos / 1e6);
+  }
+}
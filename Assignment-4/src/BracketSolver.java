@@ -1,12 +1,16 @@
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Scanner;
-import java.util.Stack;
 
 public class BracketSolver {
 
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("--batch")) {
+      BracketBatch.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+
     Scanner scanner;
     try {
       scanner = new Scanner(new FileReader(args[0]));
@@ -17,54 +21,15 @@ public class BracketSolver {
     }
 
     while (scanner.hasNextLine()) {
-      System.out.printf(" : %s\n", checkValidBrackets(scanner.next()));
+      String line = scanner.next();
+      System.out.printf("%s : %s\n", line, checkValidBrackets(line));
     }
     scanner.close();
 
   }
 
   public static boolean checkValidBrackets(String s) {
-    String result = s.replaceAll("[^\\[\\]{}()]", "");
-    System.out.print(result);
-    char[] chars = result.toCharArray();
-
-    Stack<Character> stack = new Stack<>();
-    HashSet<Character> leftBrackets = new HashSet<>();
-    leftBrackets.add('{');
-    leftBrackets.add('(');
-    leftBrackets.add('[');
-
-    for (char character : chars) {
-
-      if (leftBrackets.contains(character)) {
-        stack.add(character);
-
-      } else {
-
-        if (stack.isEmpty()) {
-          return false;
-        }
-
-        switch (character) {
-          case '}' -> {
-            if (stack.pop() != '{') {
-              return false;
-            }
-          }
-          case ')' -> {
-            if (stack.pop() != '(') {
-              return false;
-            }
-          }
-          case ']' -> {
-            if (stack.pop() != '[') {
-              return false;
-            }
-          }
-        }
-      }
-    }
-    return stack.isEmpty();
+    return new BracketValidator().validate(s) == BracketValidator.VALID;
   }
 
 
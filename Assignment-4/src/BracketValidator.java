@@ -0,0 +1,117 @@
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+public class BracketValidator {
+
+  public static final long VALID = -1;
+  private static final int BUFFER_SIZE = 8192;
+  private static final int INITIAL_DEPTH = 64;
+
+  // The closer expected for every open bracket, innermost last
+  private char[] expectedClosers = new char[INITIAL_DEPTH];
+  private int depth;
+  private long offset;
+  private long errorOffset = VALID;
+
+  public static void main(String[] args) {
+    try (Reader reader = new FileReader(args[0])) {
+      long errorOffset = new BracketValidator().validate(reader);
+      if (errorOffset == VALID) {
+        System.out.println("Valid brackets");
+      } else {
+        System.out.printf("Invalid bracket at offset %d\n", errorOffset);
+      }
+    } catch (IOException e) {
+      System.out.println("Something went wrong while reading the given file");
+    }
+  }
+
+  // Returns VALID, or the offset of the first bracket that does not match.
+  // If brackets are left open, the offset is the length of the input.
+  public long validate(Reader reader) throws IOException {
+    reset();
+    char[] buffer = new char[BUFFER_SIZE];
+    int read;
+    while (errorOffset == VALID && (read = reader.read(buffer)) != -1) {
+      accept(buffer, 0, read);
+    }
+    return finish();
+  }
+
+  public long validate(CharBuffer buffer) {
+    reset();
+    if (buffer.hasArray()) {
+      int start = buffer.arrayOffset() + buffer.position();
+      accept(buffer.array(), start, start + buffer.remaining());
+    } else {
+      for (int i = buffer.position(); i < buffer.limit() && errorOffset == VALID; i++) {
+        accept(buffer.get(i));
+      }
+    }
+    return finish();
+  }
+
+  public long validate(CharSequence s) {
+    reset();
+    for (int i = 0; i < s.length() && errorOffset == VALID; i++) {
+      accept(s.charAt(i));
+    }
+    return finish();
+  }
+
+  public void accept(char[] chars, int from, int to) {
+    for (int i = from; i < to && errorOffset == VALID; i++) {
+      accept(chars[i]);
+    }
+  }
+
+  public void accept(char character) {
+    if (errorOffset != VALID) {
+      return;
+    }
+    switch (character) {
+      case '(' -> push(')');
+      case '[' -> push(']');
+      case '{' -> push('}');
+      case ')', ']', '}' -> {
+        if (depth == 0 || expectedClosers[--depth] != character) {
+          errorOffset = offset;
+        }
+      }
+      default -> {
+      }
+    }
+    offset++;
+  }
+
+  public long finish() {
+    if (errorOffset == VALID && depth > 0) {
+      errorOffset = offset;
+    }
+    return errorOffset;
+  }
+
+  public void reset() {
+    depth = 0;
+    offset = 0;
+    errorOffset = VALID;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  private void push(char closer) {
+    if (depth == expectedClosers.length) {
+      expectedClosers = Arrays.copyOf(expectedClosers, 2 * depth);
+    }
+    expectedClosers[depth++] = closer;
+  }
+}
@@ -1,66 +1,197 @@
-
-public class Josephus {
-
-  public static void main(String[] args) {
-    System.out.printf("Optimal position: %d\n", optimalPosition(11, 10));
-  }
-
-  public static int optimalPosition(int nPeople, int mInterval){
-    if (mInterval < 1){
-      throw new IllegalArgumentException("Interval has to be 1 or larger");
-    }
-    if (mInterval == 1){
-      return nPeople;
-    }
-
-    Node last = new Node(nPeople, null);
-    Node current = last;
-
-    for (int i = nPeople - 1; i > 0; i--) {
-      current = new Node(i, current);
-    }
-    last.setNode(current);
-
-    current = last;
-    Node previous = null;
-
-    while (current.getNext() != current){
-      for (int i = 0; i < mInterval; i++) {
-        previous = current;
-        current = current.getNext();
-      }
-      previous.removeNext();
-    }
-
-    return current.getElement();
-  }
-}
-
-
-class Node{
-  private final int element;
-  private Node next;
-
-  public Node(int e, Node n){
-    element = e;
-    next = n;
-  }
-
-  public int getElement(){
-    return element;
-  }
-
-  public Node getNext(){
-    return next;
-  }
-
-  public void setNode(Node n){
-    next = n;
-  }
-
-
-  public void removeNext(){
-    setNode(getNext().getNext());
-  }
-
-}
+import java.util.Arrays;
+
+public class Josephus {
+
+  // Keeps the O(m log n) sizes of the stepping solver below about 50 000 longs
+  private static final long MAX_STEPPING_INTERVAL = 1 << 10;
+
+  public static void main(String[] args) {
+    System.out.printf("Optimal position: %d\n", optimalPosition(11, 10));
+    System.out.printf("Elimination order: %s\n", Arrays.toString(eliminationOrder(11, 10)));
+    System.out.printf("Optimal position of 10^18 people: %d\n",
+        optimalPosition(1_000_000_000_000_000_000L, 3L));
+  }
+
+  // Solves the recurrence J(i) = (J(i - 1) + m) mod i for 0-based positions
+  // in O(n) time and constant space
+  public static int optimalPosition(int nPeople, int mInterval){
+    checkArguments(nPeople, mInterval);
+    int position = 0;
+    for (int i = 2; i <= nPeople; i++) {
+      position = (int) ((position + (long) mInterval) % i);
+    }
+    return position + 1;
+  }
+
+  // For intervals up to MAX_STEPPING_INTERVAL, removes every m-th person of
+  // a round in one step. Each step leaves n - n / m people, so there are
+  // about m ln(n / m) steps, and the sizes are kept to undo the steps on the
+  // way back up, which is O(m log n) time and space. Larger intervals use the
+  // O(n) recurrence in constant space.
+  public static long optimalPosition(long nPeople, long mInterval){
+    checkArguments(nPeople, mInterval);
+    if (mInterval == 1){
+      return nPeople;
+    }
+    if (mInterval > MAX_STEPPING_INTERVAL) {
+      return recurrence(nPeople, mInterval) + 1;
+    }
+
+    long[] sizes = new long[64];
+    int steps = 0;
+    long n = nPeople;
+    while (n >= mInterval) {
+      if (steps == sizes.length) {
+        sizes = Arrays.copyOf(sizes, 2 * steps);
+      }
+      sizes[steps++] = n;
+      n -= n / mInterval;
+    }
+
+    // Fewer than m people are left, so the recurrence takes over
+    long position = recurrence(n, mInterval);
+
+    while (steps > 0) {
+      long size = sizes[--steps];
+      // Shift past the people removed in front of the position
+      position -= size % mInterval;
+      if (position < 0) {
+        position += size;
+      } else {
+        position += position / (mInterval - 1);
+      }
+    }
+    return position + 1;
+  }
+
+  // Returns the 0-based position among n people from the O(n) recurrence
+  private static long recurrence(long n, long mInterval) {
+    long position = 0;
+    for (long i = 2; i <= n; i++) {
+      position = (position + mInterval % i) % i;
+    }
+    return position;
+  }
+
+  // Returns the positions in the order they are removed, ending with the
+  // optimal position. An order-statistic Fenwick tree finds the person m
+  // steps ahead among the remaining people in O(log n), so the whole order
+  // takes O(n log n).
+  public static int[] eliminationOrder(int nPeople, int mInterval){
+    checkArguments(nPeople, mInterval);
+    RankTree remaining = new RankTree(nPeople);
+    int[] order = new int[nPeople];
+    int rank = 0;
+    for (int i = 0; i < nPeople; i++) {
+      int size = nPeople - i;
+      rank = (int) ((rank + mInterval - 1L) % size);
+      int position = remaining.select(rank);
+      remaining.remove(position);
+      order[i] = position;
+    }
+    return order;
+  }
+
+  // The original simulation, which walks the circle m steps per removal in
+  // O(n * m) time. Kept as a reference for the faster solvers.
+  public static int simulatePosition(int nPeople, int mInterval){
+    checkArguments(nPeople, mInterval);
+    if (mInterval == 1){
+      return nPeople;
+    }
+
+    Node last = new Node(nPeople, null);
+    Node current = last;
+
+    for (int i = nPeople - 1; i > 0; i--) {
+      current = new Node(i, current);
+    }
+    last.setNode(current);
+
+    current = last;
+    Node previous = null;
+
+    while (current.getNext() != current){
+      for (int i = 0; i < mInterval; i++) {
+        previous = current;
+        current = current.getNext();
+      }
+      previous.removeNext();
+    }
+
+    return current.getElement();
+  }
+
+  private static void checkArguments(long nPeople, long mInterval){
+    if (nPeople < 1){
+      throw new IllegalArgumentException("Number of people has to be 1 or larger");
+    }
+    if (mInterval < 1){
+      throw new IllegalArgumentException("Interval has to be 1 or larger");
+    }
+  }
+}
+
+
+// A Fenwick tree over the positions 1 to n that counts the remaining people
+class RankTree{
+  private final int[] tree;
+  private final int highestBit;
+
+  public RankTree(int n){
+    tree = new int[n + 1];
+    // Every position starts with one person, so node i counts its whole range
+    for (int i = 1; i <= n; i++) {
+      tree[i] = i & -i;
+    }
+    highestBit = Integer.highestOneBit(n);
+  }
+
+  public void remove(int position){
+    for (int i = position; i < tree.length; i += i & -i) {
+      tree[i]--;
+    }
+  }
+
+  // Returns the position of the remaining person with the given 0-based rank
+  public int select(int rank){
+    int position = 0;
+    for (int bit = highestBit; bit > 0; bit >>= 1) {
+      int next = position + bit;
+      if (next < tree.length && tree[next] <= rank) {
+        position = next;
+        rank -= tree[next];
+      }
+    }
+    return position + 1;
+  }
+}
+
+
+class Node{
+  private final int element;
+  private Node next;
+
+  public Node(int e, Node n){
+    element = e;
+    next = n;
+  }
+
+  public int getElement(){
+    return element;
+  }
+
+  public Node getNext(){
+    return next;
+  }
+
+  public void setNode(Node n){
+    next = n;
+  }
+
+
+  public void removeNext(){
+    setNode(getNext().getNext());
+  }
+
+}
@@ -0,0 +1,210 @@
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelBracketValidator {
+
+  private static final long REGION_SIZE = 1L << 30;
+  private static final int CHUNK_SIZE = 1 << 20;
+
+  public static void main(String[] args) {
+    try {
+      long startTime = System.currentTimeMillis();
+      long parallelResult = validate(Path.of(args[0]));
+      long endTime = System.currentTimeMillis();
+
+      long startTime2 = System.currentTimeMillis();
+      long sequentialResult;
+      try (Reader reader = new FileReader(args[0])) {
+        sequentialResult = new BracketValidator().validate(reader);
+      }
+      long endTime2 = System.currentTimeMillis();
+
+      System.out.printf("Parallel: %d (%d ms)\n", parallelResult, endTime - startTime);
+      System.out.printf("Sequential: %d (%d ms)\n", sequentialResult, endTime2 - startTime2);
+    } catch (IOException e) {
+      System.out.println("Something went wrong while reading the given file");
+    }
+  }
+
+  public static long validate(Path file) throws IOException {
+    return validate(file, ForkJoinPool.commonPool());
+  }
+
+  // Returns the same offset as BracketValidator, counted in bytes. The
+  // brackets are ASCII, so the offsets are equal for ASCII files.
+  public static long validate(Path file, ForkJoinPool pool) throws IOException {
+    return validate(file, pool, CHUNK_SIZE);
+  }
+
+  static long validate(Path file, ForkJoinPool pool, int chunkSize) throws IOException {
+    if (Integer.bitCount(chunkSize) != 1 || chunkSize > REGION_SIZE) {
+      throw new IllegalArgumentException("Chunk size has to be a power of two up to "
+          + REGION_SIZE);
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0) {
+        return BracketValidator.VALID;
+      }
+
+      // The chunks never cross a region, since the chunk size divides the region size
+      MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size - 1) / REGION_SIZE + 1)];
+      for (int i = 0; i < regions.length; i++) {
+        long position = i * REGION_SIZE;
+        regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+            Math.min(REGION_SIZE, size - position));
+      }
+
+      BracketSummary summary = pool.invoke(new BracketTask(regions, 0, size, chunkSize));
+      return summary.getResult(size);
+    }
+  }
+
+  private static class BracketTask extends RecursiveTask<BracketSummary> {
+    private static final long serialVersionUID = 1L;
+
+    private final ByteBuffer[] regions;
+    private final long from;
+    private final long to;
+    private final int chunkSize;
+
+    public BracketTask(ByteBuffer[] regions, long from, long to, int chunkSize) {
+      this.regions = regions;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected BracketSummary compute() {
+      if (to - from <= chunkSize) {
+        ByteBuffer region = regions[(int) (from / REGION_SIZE)];
+        long regionStart = from / REGION_SIZE * REGION_SIZE;
+        return BracketSummary.scan(region, (int) (from - regionStart),
+            (int) (to - regionStart), regionStart);
+      }
+
+      long chunks = (to - from + chunkSize - 1) / chunkSize;
+      long middle = from + chunks / 2 * chunkSize;
+      BracketTask left = new BracketTask(regions, from, middle, chunkSize);
+      BracketTask right = new BracketTask(regions, middle, to, chunkSize);
+      left.fork();
+      BracketSummary rightSummary = right.compute();
+      return left.join().merge(rightSummary);
+    }
+  }
+
+  // The brackets of a chunk that are not matched within it: closers at the
+  // start and openers at the end. Brackets are paired by position only, which
+  // gives the same pairs as the sequential stack up to its first error. An
+  // error can only be followed by larger offsets, so everything after it is
+  // dropped.
+  private static class BracketSummary {
+    private static final byte[] OPENER_TYPES = new byte[128];
+    private static final byte[] CLOSER_TYPES = new byte[128];
+
+    static {
+      Arrays.fill(OPENER_TYPES, (byte) -1);
+      Arrays.fill(CLOSER_TYPES, (byte) -1);
+      OPENER_TYPES['('] = 0;
+      OPENER_TYPES['['] = 1;
+      OPENER_TYPES['{'] = 2;
+      CLOSER_TYPES[')'] = 0;
+      CLOSER_TYPES[']'] = 1;
+      CLOSER_TYPES['}'] = 2;
+    }
+
+    private long errorOffset = BracketValidator.VALID;
+    private byte[] closerTypes = new byte[8];
+    private long[] closerOffsets = new long[8];
+    private int closerCount;
+    private byte[] openerTypes = new byte[8];
+    private long[] openerOffsets = new long[8];
+    private int openerCount;
+
+    public static BracketSummary scan(ByteBuffer region, int from, int to, long regionStart) {
+      BracketSummary summary = new BracketSummary();
+      for (int i = from; i < to; i++) {
+        byte b = region.get(i);
+        if (b < 0) {
+          continue;
+        }
+        if (OPENER_TYPES[b] >= 0) {
+          summary.addOpener(OPENER_TYPES[b], regionStart + i);
+        } else if (CLOSER_TYPES[b] >= 0) {
+          if (summary.openerCount == 0) {
+            summary.addCloser(CLOSER_TYPES[b], regionStart + i);
+          } else if (summary.openerTypes[--summary.openerCount] != CLOSER_TYPES[b]) {
+            summary.errorOffset = regionStart + i;
+            summary.openerCount = 0;
+            return summary;
+          }
+        }
+      }
+      return summary;
+    }
+
+    // Merges the summary of the chunk directly after this one into this summary
+    public BracketSummary merge(BracketSummary right) {
+      if (errorOffset != BracketValidator.VALID) {
+        return this;
+      }
+
+      int pairs = Math.min(openerCount, right.closerCount);
+      for (int i = 0; i < pairs; i++) {
+        if (openerTypes[openerCount - 1 - i] != right.closerTypes[i]) {
+          errorOffset = right.closerOffsets[i];
+          openerCount = 0;
+          return this;
+        }
+      }
+      openerCount -= pairs;
+
+      for (int i = pairs; i < right.closerCount; i++) {
+        addCloser(right.closerTypes[i], right.closerOffsets[i]);
+      }
+      for (int i = 0; i < right.openerCount; i++) {
+        addOpener(right.openerTypes[i], right.openerOffsets[i]);
+      }
+      errorOffset = right.errorOffset;
+      return this;
+    }
+
+    public long getResult(long length) {
+      if (closerCount > 0) {
+        return closerOffsets[0];
+      }
+      if (errorOffset != BracketValidator.VALID) {
+        return errorOffset;
+      }
+      return openerCount > 0 ? length : BracketValidator.VALID;
+    }
+
+    private void addOpener(byte type, long offset) {
+      if (openerCount == openerTypes.length) {
+        openerTypes = Arrays.copyOf(openerTypes, 2 * openerCount);
+        openerOffsets = Arrays.copyOf(openerOffsets, 2 * openerCount);
+      }
+      openerTypes[openerCount] = type;
+      openerOffsets[openerCount++] = offset;
+    }
+
+    private void addCloser(byte type, long offset) {
+      if (closerCount == closerTypes.length) {
+        closerTypes = Arrays.copyOf(closerTypes, 2 * closerCount);
+        closerOffsets = Arrays.copyOf(closerOffsets, 2 * closerCount);
+      }
+      closerTypes[closerCount] = type;
+      closerOffsets[closerCount++] = offset;
+    }
+  }
+}
@@ -3,23 +3,135 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.InputStreamReader;
 import java.lang.reflect.Array;
+import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
 
 public class HashingTask {
 
+  private static final String TABLE_LINE = "-".repeat(141);
+  private static final String TABLE_ROW = "| %-25s | %-25s | %25s | %25s | %25s | %n";
+
   public static void main(String[] args) {
 
     part1(args);
     System.out.println("\nPART 2");
     compareCollisions();
     compareTimeSpent();
+    compareProbeLengths();
+    compareRehashing();
+    compareConcurrentInsert();
+
+  }
+
+  private static void compareConcurrentInsert() {
+    int keys = 4000000;
+    int[] data = TestData.toIntArray(TestData.createRandomIntegerArray(keys));
+    String[] names = new String[keys];
+    for (int i = 0; i < keys; i++) {
+      names[i] = Integer.toString(data[i]);
+    }
+
+    System.out.println("Inserting " + keys + " keys from several threads:");
+    System.out.println(TABLE_LINE);
+    System.out.printf(TABLE_ROW, "Threads", "CAS open addressing ms", "keys/s",
+        "Lock-striped chaining ms", "keys/s");
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= processors; threads *= 2) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        ConcurrentIntHashSet intHashSet = new ConcurrentIntHashSet(
+            TableSizes.nextCapacity(keys));
+        long casTime = takeTimeConcurrentInsert(executor, threads, keys,
+            i -> intHashSet.put(data[i]));
+        ConcurrentHashTableLinked hashTableLinked = new ConcurrentHashTableLinked(keys);
+        long lockTime = takeTimeConcurrentInsert(executor, threads, keys,
+            i -> hashTableLinked.put(names[i]));
+
+        System.out.printf(TABLE_ROW, threads, casTime, keys * 1000L / Math.max(1, casTime),
+            lockTime, keys * 1000L / Math.max(1, lockTime));
+      } finally {
+        executor.shutdown();
+      }
+    }
+    System.out.println(TABLE_LINE);
+  }
+
+  // Splits the indexes 0 to keys between the threads, and returns the time in ms
+  private static long takeTimeConcurrentInsert(ExecutorService executor, int threads, int keys,
+      IntConsumer insert) {
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int from = (int) ((long) keys * t / threads);
+      int to = (int) ((long) keys * (t + 1) / threads);
+      tasks.add(() -> {
+        for (int i = from; i < to; i++) {
+          insert.accept(i);
+        }
+        return null;
+      });
+    }
 
+    long start = System.currentTimeMillis();
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+    long end = System.currentTimeMillis();
+    return end - start;
+  }
+
+  private static void compareRehashing() {
+    int keys = 10000019;
+    int startSize = 17;
+    double maxLoadFactor = 0.75;
+    int[] data = TestData.toIntArray(TestData.createRandomIntegerArray(keys));
+
+    System.out.println("Growing from " + startSize + " to " + keys + " keys with max load factor "
+        + maxLoadFactor + ":");
+    System.out.println(TABLE_LINE);
+    System.out.printf(TABLE_ROW, "Rehashing", "Total time in ms", "Longest put in ms",
+        "Table size", "Load factor");
+    for (boolean incremental : new boolean[]{false, true}) {
+      IntHashSet intHashSet = new IntHashSet(startSize, maxLoadFactor, incremental);
+      long longestPut = 0;
+
+      long start = System.nanoTime();
+      for (int key : data) {
+        long putStart = System.nanoTime();
+        intHashSet.put(key);
+        longestPut = Math.max(longestPut, System.nanoTime() - putStart);
+      }
+      long end = System.nanoTime();
+
+      System.out.printf(TABLE_ROW, incremental ? "Incremental" : "All at once",
+          (end - start) / 1000000, longestPut / 1000000.0, intHashSet.getTableSize(),
+          intHashSet.getLoadFactor());
+    }
+    System.out.println(TABLE_LINE);
   }
 
   private static void compareTimeSpent() {
@@ -28,19 +140,19 @@ public class HashingTask {
 
     System.out.println("Size of table: " + hashSize + " (Prime " + hashSize + " ~ 10 million)");
     System.out.println("Amount of time in ms:");
-    System.out.println(
-        "-------------------------------------------------------------------------------------");
-    System.out.printf("| %-25s | %-25s | %25s | %n", "Percentage", "Linear Probing",
-        "Double Hashing");
+    System.out.println(TABLE_LINE);
+    System.out.printf(TABLE_ROW, "Percentage", "Linear Probing", "Double Hashing",
+        "Primitive Linear Probing", "Robin Hood Hashing");
 
     for (double percentage : percentages) {
       Integer[] data = TestData.createRandomIntegerArray((int) (percentage * hashSize));
 
-      System.out.printf("| %-25s | %-25s | %25s | %n", 100 * percentage + "%",
-          takeTimeLinearProbeInsert(data, hashSize), takeTimeDoubleHashInsert(data, hashSize));
+      System.out.printf(TABLE_ROW, 100 * percentage + "%",
+          takeTimeLinearProbeInsert(data, hashSize), takeTimeDoubleHashInsert(data, hashSize),
+          takeTimePrimitiveLinearInsert(TestData.toIntArray(data), hashSize),
+          takeTimeRobinHoodInsert(data, hashSize));
     }
-    System.out.println(
-        "-------------------------------------------------------------------------------------");
+    System.out.println(TABLE_LINE);
   }
 
 
@@ -50,19 +162,67 @@ public class HashingTask {
 
     System.out.println("Size of table: " + hashSize + " (Prime " + hashSize + " ~ 10 million)");
     System.out.println("Amount of collisions:");
-    System.out.println(
-        "-------------------------------------------------------------------------------------");
-    System.out.printf("| %-25s | %-25s | %25s | %n", "Percentage", "Linear Probing",
-        "Double Hashing");
+    System.out.println(TABLE_LINE);
+    System.out.printf(TABLE_ROW, "Percentage", "Linear Probing", "Double Hashing",
+        "Primitive Linear Probing", "Robin Hood Hashing");
 
     for (double percentage : percentages) {
       Integer[] data = TestData.createRandomIntegerArray((int) (percentage * hashSize));
 
-      System.out.printf("| %-25s | %-25s | %25s | %n", 100 * percentage + "%",
-          getCollisionsLinear(data, hashSize), getCollisionsDoubleHash(data, hashSize));
+      System.out.printf(TABLE_ROW, 100 * percentage + "%",
+          getCollisionsLinear(data, hashSize), getCollisionsDoubleHash(data, hashSize),
+          getCollisionsPrimitiveLinear(TestData.toIntArray(data), hashSize),
+          getCollisionsRobinHood(data, hashSize));
     }
-    System.out.println(
-        "-------------------------------------------------------------------------------------");
+    System.out.println(TABLE_LINE);
+  }
+
+
+  // The probe length of a key is how far its slot is from its hash, which is
+  // the number of extra slots a successful lookup has to read
+  private static void compareProbeLengths() {
+    int hashSize = 10000019;
+    // A full table is left out, since filling it with linear probing takes minutes
+    double[] percentages = new double[]{0.5, 0.8, 0.9, 0.99};
+
+    System.out.println("Size of table: " + hashSize + " (Prime " + hashSize + " ~ 10 million)");
+    System.out.println("Probe lengths of the keys:");
+    System.out.println(TABLE_LINE);
+    System.out.printf(TABLE_ROW, "Percentage", "Linear Probing average", "Linear Probing longest",
+        "Robin Hood average", "Robin Hood longest");
+
+    for (double percentage : percentages) {
+      Integer[] data = TestData.createRandomIntegerArray((int) (percentage * hashSize));
+
+      HashTableLinear hashTableLinear = new HashTableLinear(hashSize);
+      HashTableRobinHood hashTableRobinHood = new HashTableRobinHood(hashSize);
+      for (Integer key : data) {
+        hashTableLinear.put(key);
+        hashTableRobinHood.put(key);
+      }
+      long[] linear = getProbeLengths(hashTableLinear);
+      long[] robinHood = getProbeLengths(hashTableRobinHood);
+
+      System.out.printf(TABLE_ROW, 100 * percentage + "%",
+          (double) linear[0] / hashTableLinear.getLoad(), linear[1],
+          (double) robinHood[0] / hashTableRobinHood.getLoad(), robinHood[1]);
+    }
+    System.out.println(TABLE_LINE);
+  }
+
+  // Returns the sum and the longest of the probe lengths
+  private static long[] getProbeLengths(HashTableAbstract<Integer, Integer> table) {
+    long sum = 0;
+    long longest = 0;
+    for (int pos = 0; pos < table.tableSize; pos++) {
+      Integer key = table.table[pos];
+      if (key != null) {
+        long length = Math.floorMod(pos - table.hash(key), table.tableSize);
+        sum += length;
+        longest = Math.max(longest, length);
+      }
+    }
+    return new long[]{sum, longest};
   }
 
 
@@ -121,6 +281,30 @@ public class HashingTask {
     return end - start;
   }
 
+  private static long takeTimePrimitiveLinearInsert(int[] testData, int size) {
+    IntHashSet intHashSet = new IntHashSet(size);
+
+    long start = System.currentTimeMillis();
+    for (int data : testData) {
+      intHashSet.put(data);
+    }
+
+    long end = System.currentTimeMillis();
+    return end - start;
+  }
+
+  private static long takeTimeRobinHoodInsert(Integer[] testData, int size) {
+    HashTableRobinHood hashTableRobinHood = new HashTableRobinHood(size);
+
+    long start = System.currentTimeMillis();
+    for (Integer data : testData) {
+      hashTableRobinHood.put(data);
+    }
+
+    long end = System.currentTimeMillis();
+    return end - start;
+  }
+
   private static long getCollisionsLinear(Integer[] testData, int size) {
     HashTableLinear hashTableLinear = new HashTableLinear(size);
 
@@ -142,6 +326,25 @@ public class HashingTask {
   }
 
 
+  private static long getCollisionsPrimitiveLinear(int[] testData, int size) {
+    IntHashSet intHashSet = new IntHashSet(size);
+    for (int data : testData) {
+      intHashSet.put(data);
+    }
+
+    return intHashSet.getCollisions();
+  }
+
+  private static long getCollisionsRobinHood(Integer[] testData, int size) {
+    HashTableRobinHood hashTableRobinHood = new HashTableRobinHood(size);
+    for (Integer data : testData) {
+      hashTableRobinHood.put(data);
+    }
+
+    return hashTableRobinHood.getCollisions();
+  }
+
+
   private static void readFromWeb(HashTableLinked table, String webURL) {
     try {
 
@@ -196,18 +399,65 @@ public class HashingTask {
 
 abstract class HashTableAbstract<T, E> {
 
-  protected final int tableSize;
-  protected final T[] table;
+  // Never grows, and throws when it is full
+  public static final double FIXED_SIZE = Double.POSITIVE_INFINITY;
+
+  private final Class<T> elementType;
+  protected final double maxLoadFactor;
+  protected int tableSize;
+  protected T[] table;
   protected long load;
   protected long collisions;
 
   public HashTableAbstract(Class<T> elementType, int tableSize) {
+    this(elementType, tableSize, FIXED_SIZE);
+  }
+
+  public HashTableAbstract(Class<T> elementType, int tableSize, double maxLoadFactor) {
+    if (!(maxLoadFactor > 0)) {
+      throw new IllegalArgumentException("Max load factor has to be larger than 0");
+    }
+    this.elementType = elementType;
+    this.maxLoadFactor = maxLoadFactor;
     this.tableSize = tableSize;
-    this.table = (T[]) Array.newInstance(elementType, tableSize);
+    this.table = newTable(tableSize);
     this.load = 0;
 
   }
 
+  // Called before every insert, and rehashes into the next table size if
+  // the insert would go above the max load factor
+  protected void growIfNeeded() {
+    if (load + 1 > maxLoadFactor * tableSize) {
+      resize(TableSizes.nextCapacity(tableSize));
+    }
+  }
+
+  protected void resize(int newTableSize) {
+    T[] oldTable = table;
+    long oldCollisions = collisions;
+    tableSize = newTableSize;
+    table = newTable(newTableSize);
+    load = 0;
+    for (T element : oldTable) {
+      if (element != null) {
+        reinsert(element);
+      }
+    }
+    // Only collisions of the inserts themselves are counted
+    collisions = oldCollisions;
+  }
+
+  protected void reinsert(T element) {
+    put(element);
+  }
+
+  // The array is created with the element type, so it really is a T[]
+  @SuppressWarnings("unchecked")
+  private T[] newTable(int size) {
+    return (T[]) Array.newInstance(elementType, size);
+  }
+
   public abstract void put(T s);
 
   public abstract int hash(T object);
@@ -246,10 +496,28 @@ abstract class HashTableAbstract<T, E> {
 
 
 
+// Double hashing where the step between probes is 1 + key mod (size - 1).
+// Every step is below a prime table size and so has no common divisor with
+// it, which makes the probe visit every slot before it repeats. Both hashes
+// are computed once per operation, and the probe is advanced without %.
+// Removed keys leave a tombstone, since moving the keys after them would
+// break other probe sequences.
 class HashTableDoubleHash extends HashTableAbstract<Integer, Integer> {
 
+  private static final double MAX_OCCUPANCY = 0.8;
+
+  // Marks the empty slots that held a removed key
+  private boolean[] deleted;
+  private long tombstones;
+
   public HashTableDoubleHash(int size) {
     super(Integer.class, size);
+    deleted = new boolean[size];
+  }
+
+  public HashTableDoubleHash(int size, double maxLoadFactor) {
+    super(Integer.class, size, maxLoadFactor);
+    deleted = new boolean[size];
   }
 
   @Override
@@ -257,57 +525,112 @@ class HashTableDoubleHash extends HashTableAbstract<Integer, Integer> {
     if (collisions < 0){
       throw new RuntimeException("collisions less than 0 at " + integer);
     }
-    if (load >= tableSize) {
-      throw new RuntimeException("Full");
+    if (tooManyTombstones()) {
+      resize(tableSize);
     }
+    growIfNeeded();
 
-    int divHash = hash(integer);
-    int hash2 = hash2(integer);
-    int probePos = probe(divHash, hash2, 0);
+    int step = hash2(integer);
+    int probePos = hash(integer);
+    int freePos = -1;
 
-    int i = 1;
-    while(table[probePos] != null){
-      if (i > tableSize){
-        throw new RuntimeException("CANNOT INSERT");
+    // Goes on past a tombstone, since the key can still be further along
+    for (int i = 0; i < tableSize; i++) {
+      Integer current = table[probePos];
+      if (current == null) {
+        if (freePos < 0) {
+          freePos = probePos;
+        }
+        if (!deleted[probePos]) {
+          break;
+        }
+      } else if (current.equals(integer)) {
+        return;
+      } else if (freePos < 0) {
+        collisions++;
       }
-      probePos = probe(divHash, hash2, i);
-      collisions++;
-      i++;
+      probePos = next(probePos, step);
     }
 
-    table[probePos] = integer;
+    // The probe visits every slot, so there is no free slot left
+    if (freePos < 0) {
+      throw new RuntimeException("Full");
+    }
+    if (deleted[freePos]) {
+      deleted[freePos] = false;
+      tombstones--;
+    }
+    table[freePos] = integer;
     load++;
   }
 
-  private int probe(int hashed1, int hashed2, int i) {
+  // Tombstones make every probe through them longer, so the table is rehashed
+  // into the same size once the keys and tombstones together pass the max
+  // load factor, or MAX_OCCUPANCY for a fixed size. Only when the tombstones
+  // fill half the free slots, so a table whose keys alone are near the limit
+  // is not rehashed on every put.
+  private boolean tooManyTombstones() {
+    double limit = Math.min(maxLoadFactor, MAX_OCCUPANCY) * tableSize;
+    return tombstones > 0 && load + tombstones + 1 > limit
+        && 2 * tombstones >= tableSize - load;
+  }
 
-    return (hashed1 + hashed2 * i) % tableSize;
+  // Adds the step and wraps around without overflowing, for any table size
+  private int next(int pos, int step) {
+    return pos < tableSize - step ? pos + step : pos - (tableSize - step);
   }
 
   @Override
   public int hash(Integer object) {
-    return object % tableSize;
+    return Math.floorMod(object, tableSize);
   }
 
   public int hash2(Integer object) {
-    return 7 - (object % 7);
+    return tableSize > 1 ? 1 + Math.floorMod(object, tableSize - 1) : 1;
   }
 
   @Override
   public Integer get(Integer element) {
+    int pos = find(element);
+    return pos >= 0 ? table[pos] : null;
+  }
 
-    for (int i = 0; i < tableSize; i++) {
-      int j = probe(hash(element), hash2(element), i);
-      if (table[j] == null) {
-        return null;
-      }
+  // Returns true if the key was removed
+  public boolean remove(Integer element) {
+    int pos = find(element);
+    if (pos < 0) {
+      return false;
+    }
+    table[pos] = null;
+    deleted[pos] = true;
+    tombstones++;
+    load--;
+    return true;
+  }
 
-      if (Objects.equals(table[j], element)) {
-        return table[j];
+  // Returns the slot holding the key, or -1
+  private int find(Integer element) {
+    int step = hash2(element);
+    int pos = hash(element);
+    for (int i = 0; i < tableSize; i++) {
+      Integer current = table[pos];
+      if (current == null) {
+        if (!deleted[pos]) {
+          return -1;
+        }
+      } else if (current.equals(element)) {
+        return pos;
       }
-
+      pos = next(pos, step);
     }
-    return null;
+    return -1;
+  }
+
+  @Override
+  protected void resize(int newTableSize) {
+    deleted = new boolean[newTableSize];
+    tombstones = 0;
+    super.resize(newTableSize);
   }
 }
 
@@ -321,8 +644,13 @@ class HashTableLinear extends HashTableAbstract<Integer, Integer> {
 
   }
 
+  public HashTableLinear(int size, double maxLoadFactor) {
+    super(Integer.class, size, maxLoadFactor);
+  }
+
   @Override
   public void put(Integer integer) {
+    growIfNeeded();
     if (tableSize <= load) {
       throw new RuntimeException("Full");
     }
@@ -364,12 +692,400 @@ class HashTableLinear extends HashTableAbstract<Integer, Integer> {
 
 
 
+// Linear probing where an inserted key takes the slot of any key that is
+// closer to its hash, and the displaced key continues the probe. This keeps
+// every key close to its hash, so the longest lookup stays short even at
+// high load. A lookup can stop at the first key closer to its hash than the
+// probe, and a removal shifts the following keys back instead of leaving a
+// tombstone.
+class HashTableRobinHood extends HashTableAbstract<Integer, Integer> {
+
+  // How far the key in each slot is from its hash
+  private int[] distances;
+
+  public HashTableRobinHood(int size) {
+    super(Integer.class, size);
+    distances = new int[size];
+  }
+
+  public HashTableRobinHood(int size, double maxLoadFactor) {
+    super(Integer.class, size, maxLoadFactor);
+    distances = new int[size];
+  }
+
+  @Override
+  public void put(Integer integer) {
+    if (find(integer) >= 0) {
+      return;
+    }
+    growIfNeeded();
+    if (load >= tableSize) {
+      throw new RuntimeException("Full");
+    }
+
+    // The key is not in the table, so the probe only has to find its slot
+    Integer current = integer;
+    int distance = 0;
+    int pos = hash(current);
+
+    while (table[pos] != null) {
+      if (distances[pos] < distance) {
+        Integer swappedKey = table[pos];
+        int swappedDistance = distances[pos];
+        table[pos] = current;
+        distances[pos] = distance;
+        current = swappedKey;
+        distance = swappedDistance;
+      }
+      pos = pos + 1 == tableSize ? 0 : pos + 1;
+      distance++;
+      collisions++;
+    }
+
+    table[pos] = current;
+    distances[pos] = distance;
+    load++;
+  }
+
+  @Override
+  public int hash(Integer integer) {
+    return Math.floorMod(integer, tableSize);
+  }
+
+  @Override
+  public Integer get(Integer integer) {
+    int pos = find(integer);
+    return pos >= 0 ? table[pos] : null;
+  }
+
+  // Returns true if the key was removed
+  public boolean remove(Integer integer) {
+    int pos = find(integer);
+    if (pos < 0) {
+      return false;
+    }
+
+    int next = pos + 1 == tableSize ? 0 : pos + 1;
+    while (table[next] != null && distances[next] > 0) {
+      table[pos] = table[next];
+      distances[pos] = distances[next] - 1;
+      pos = next;
+      next = next + 1 == tableSize ? 0 : next + 1;
+    }
+    table[pos] = null;
+    distances[pos] = 0;
+    load--;
+    return true;
+  }
+
+  // Returns the slot holding the key, or -1
+  private int find(Integer integer) {
+    int pos = hash(integer);
+    for (int distance = 0; distance < tableSize; distance++) {
+      if (table[pos] == null || distances[pos] < distance) {
+        return -1;
+      }
+      if (table[pos].equals(integer)) {
+        return pos;
+      }
+      pos = pos + 1 == tableSize ? 0 : pos + 1;
+    }
+    return -1;
+  }
+
+  @Override
+  protected void resize(int newTableSize) {
+    distances = new int[newTableSize];
+    super.resize(newTableSize);
+  }
+}
+
+
+
+// The keys are kept in an int[] instead of boxed in an Integer[], which
+// takes a quarter of the memory and keeps the probes in the same cache
+// lines. Empty slots hold 0, so the key 0 is kept outside the table.
+//
+// With incremental rehashing the old table is kept when the table grows,
+// and every operation moves MIGRATION_STEP of its slots to the new table.
+// Until all slots are moved, keys are looked up in the new table first and
+// then in the old one, and no single put pays for the whole rehash.
+abstract class IntHashTableAbstract {
+
+  public static final double FIXED_SIZE = Double.POSITIVE_INFINITY;
+  protected static final int EMPTY = 0;
+  private static final int MIGRATION_STEP = 16;
+
+  private final double maxLoadFactor;
+  private final boolean incremental;
+  protected int tableSize;
+  protected int[] keys;
+  // Null in sets
+  protected int[] values;
+  protected boolean hasEmptyKey;
+  protected long load;
+  protected long collisions;
+
+  // The table being moved during an incremental rehash, or null
+  protected int[] oldKeys;
+  protected int[] oldValues;
+  private int migrated;
+
+  public IntHashTableAbstract(int tableSize, boolean hasValues) {
+    this(tableSize, hasValues, FIXED_SIZE, false);
+  }
+
+  public IntHashTableAbstract(int tableSize, boolean hasValues, double maxLoadFactor,
+      boolean incremental) {
+    if (!(maxLoadFactor > 0)) {
+      throw new IllegalArgumentException("Max load factor has to be larger than 0");
+    }
+    this.maxLoadFactor = maxLoadFactor;
+    this.incremental = incremental;
+    this.tableSize = tableSize;
+    this.keys = new int[tableSize];
+    this.values = hasValues ? new int[tableSize] : null;
+  }
+
+  public int hash(int key) {
+    return Math.floorMod(key, tableSize);
+  }
+
+  public boolean contains(int key) {
+    if (key == EMPTY) {
+      return hasEmptyKey;
+    }
+    migrate();
+    return find(key) >= 0 || (oldKeys != null && find(oldKeys, key) >= 0);
+  }
+
+  // Returns the slot holding the key, or -1
+  protected int find(int key) {
+    return find(keys, key);
+  }
+
+  protected static int find(int[] keys, int key) {
+    int size = keys.length;
+    int pos = Math.floorMod(key, size);
+    for (int i = 0; i < size; i++) {
+      int current = keys[pos];
+      if (current == key) {
+        return pos;
+      }
+      if (current == EMPTY) {
+        return -1;
+      }
+      pos = pos + 1 == size ? 0 : pos + 1;
+    }
+    return -1;
+  }
+
+  // Returns the slot holding the key, or the empty slot it belongs in.
+  // Every occupied slot passed on the way counts as a collision.
+  protected int findSlot(int key) {
+    int pos = hash(key);
+    for (int i = 0; i < tableSize; i++) {
+      int current = keys[pos];
+      if (current == key || current == EMPTY) {
+        return pos;
+      }
+      pos = pos + 1 == tableSize ? 0 : pos + 1;
+      collisions++;
+    }
+    throw new RuntimeException("Full");
+  }
+
+  // Called before every insert of a key other than 0
+  protected void prepareInsert() {
+    migrate();
+    if (load + 1 > maxLoadFactor * tableSize) {
+      grow();
+    }
+  }
+
+  private void grow() {
+    finishMigration();
+    oldKeys = keys;
+    oldValues = values;
+    migrated = 0;
+    tableSize = TableSizes.nextCapacity(tableSize);
+    keys = new int[tableSize];
+    values = oldValues != null ? new int[tableSize] : null;
+    if (!incremental) {
+      finishMigration();
+    }
+  }
+
+  protected void migrate() {
+    if (oldKeys != null) {
+      migrate(MIGRATION_STEP);
+    }
+  }
+
+  private void finishMigration() {
+    if (oldKeys != null) {
+      migrate(oldKeys.length - migrated);
+    }
+  }
+
+  // Moves the next slots of the old table, skipping keys that have been put
+  // into the new table since the rehash started
+  private void migrate(int slots) {
+    int end = Math.min(oldKeys.length, migrated + slots);
+    for (int i = migrated; i < end; i++) {
+      int key = oldKeys[i];
+      if (key == EMPTY) {
+        continue;
+      }
+      int pos = hash(key);
+      while (keys[pos] != EMPTY && keys[pos] != key) {
+        pos = pos + 1 == tableSize ? 0 : pos + 1;
+      }
+      if (keys[pos] == EMPTY) {
+        keys[pos] = key;
+        if (values != null) {
+          values[pos] = oldValues[i];
+        }
+      }
+    }
+    migrated = end;
+    if (migrated == oldKeys.length) {
+      oldKeys = null;
+      oldValues = null;
+    }
+  }
+
+  public boolean isRehashing() {
+    return oldKeys != null;
+  }
+
+  public int getTableSize() {
+    return tableSize;
+  }
+
+  public long getLoad() {
+    return load;
+  }
+
+  public double getLoadFactor() {
+    return (double) load / tableSize;
+  }
+
+  public long getCollisions() {
+    return collisions;
+  }
+
+  public void setCollisions(long collisions) {
+    this.collisions = collisions;
+  }
+}
+
+
+
+class IntHashSet extends IntHashTableAbstract {
+
+  public IntHashSet(int size) {
+    super(size, false);
+  }
+
+  public IntHashSet(int size, double maxLoadFactor, boolean incremental) {
+    super(size, false, maxLoadFactor, incremental);
+  }
+
+  // Returns true if the key was added, and false if it was already there
+  public boolean put(int key) {
+    if (key == EMPTY) {
+      if (hasEmptyKey) {
+        return false;
+      }
+      hasEmptyKey = true;
+      load++;
+      return true;
+    }
+
+    prepareInsert();
+    int pos = findSlot(key);
+    if (keys[pos] == key || (oldKeys != null && find(oldKeys, key) >= 0)) {
+      return false;
+    }
+    keys[pos] = key;
+    load++;
+    return true;
+  }
+}
+
+
+
+class IntHashMap extends IntHashTableAbstract {
+
+  private int emptyKeyValue;
+
+  public IntHashMap(int size) {
+    super(size, true);
+  }
+
+  public IntHashMap(int size, double maxLoadFactor, boolean incremental) {
+    super(size, true, maxLoadFactor, incremental);
+  }
+
+  // Returns true if the key was added, and false if its value was replaced
+  public boolean put(int key, int value) {
+    if (key == EMPTY) {
+      emptyKeyValue = value;
+      if (hasEmptyKey) {
+        return false;
+      }
+      hasEmptyKey = true;
+      load++;
+      return true;
+    }
+
+    prepareInsert();
+    int pos = findSlot(key);
+    values[pos] = value;
+    if (keys[pos] == key) {
+      return false;
+    }
+    keys[pos] = key;
+    // A key not moved from the old table yet is replaced, not added
+    if (oldKeys != null && find(oldKeys, key) >= 0) {
+      return false;
+    }
+    load++;
+    return true;
+  }
+
+  public int getOrDefault(int key, int defaultValue) {
+    if (key == EMPTY) {
+      return hasEmptyKey ? emptyKeyValue : defaultValue;
+    }
+    migrate();
+    int pos = find(key);
+    if (pos >= 0) {
+      return values[pos];
+    }
+    if (oldKeys != null) {
+      pos = find(oldKeys, key);
+      if (pos >= 0) {
+        return oldValues[pos];
+      }
+    }
+    return defaultValue;
+  }
+}
+
+
+
 class HashTableLinked extends HashTableAbstract<Node, String> {
 
   public HashTableLinked(int size) {
     super(Node.class, size);
   }
 
+  public HashTableLinked(int size, double maxLoadFactor) {
+    super(Node.class, size, maxLoadFactor);
+  }
+
 
   @Override
   public Node get(String s) {
@@ -390,6 +1106,7 @@ class HashTableLinked extends HashTableAbstract<Node, String> {
   @Override
   public void put(Node newNode) {
 
+    growIfNeeded();
     int pos = hash(newNode);
     if (table[pos] != null) {
       System.out.printf("Collision between %s and %s at index %d\n", newNode, table[pos], pos);
@@ -401,6 +1118,20 @@ class HashTableLinked extends HashTableAbstract<Node, String> {
     load++;
   }
 
+  // Moves every node of the chain, without printing the collisions
+  @Override
+  protected void reinsert(Node chain) {
+    Node current = chain;
+    while (current != null) {
+      Node next = current.getNext();
+      int pos = hash(current);
+      current.setNext(table[pos]);
+      table[pos] = current;
+      load++;
+      current = next;
+    }
+  }
+
   @Override
   public int hash(Node object) {
     int hash = 0;
@@ -447,6 +1178,202 @@ class Node {
   }
 }
 
+// An int set that any number of threads can insert into and read at the
+// same time. A key is claimed by a compare-and-set of an empty slot, and a
+// slot never changes once it holds a key, so lookups need no locks. The
+// counters are LongAdders, which the threads update without contending.
+// The table does not grow, since moving the keys would need every thread
+// to stop.
+class ConcurrentIntHashSet {
+
+  private static final int EMPTY = 0;
+
+  private final int tableSize;
+  private final AtomicIntegerArray keys;
+  private final AtomicBoolean hasEmptyKey = new AtomicBoolean();
+  private final LongAdder load = new LongAdder();
+  private final LongAdder collisions = new LongAdder();
+
+  public ConcurrentIntHashSet(int tableSize) {
+    this.tableSize = tableSize;
+    this.keys = new AtomicIntegerArray(tableSize);
+  }
+
+  public int hash(int key) {
+    return Math.floorMod(key, tableSize);
+  }
+
+  // Returns true if the key was added, and false if it was already there
+  public boolean put(int key) {
+    if (key == EMPTY) {
+      boolean added = hasEmptyKey.compareAndSet(false, true);
+      if (added) {
+        load.increment();
+      }
+      return added;
+    }
+
+    int pos = hash(key);
+    for (int i = 0; i < tableSize; i++) {
+      int current = keys.get(pos);
+      if (current == EMPTY) {
+        if (keys.compareAndSet(pos, EMPTY, key)) {
+          load.increment();
+          addCollisions(i);
+          return true;
+        }
+        // Another thread claimed the slot first
+        current = keys.get(pos);
+      }
+      if (current == key) {
+        addCollisions(i);
+        return false;
+      }
+      pos = pos + 1 == tableSize ? 0 : pos + 1;
+    }
+    throw new RuntimeException("Full");
+  }
+
+  private void addCollisions(int count) {
+    if (count > 0) {
+      collisions.add(count);
+    }
+  }
+
+  public boolean contains(int key) {
+    if (key == EMPTY) {
+      return hasEmptyKey.get();
+    }
+    int pos = hash(key);
+    for (int i = 0; i < tableSize; i++) {
+      int current = keys.get(pos);
+      if (current == key) {
+        return true;
+      }
+      if (current == EMPTY) {
+        return false;
+      }
+      pos = pos + 1 == tableSize ? 0 : pos + 1;
+    }
+    return false;
+  }
+
+  public int getTableSize() {
+    return tableSize;
+  }
+
+  public long getLoad() {
+    return load.sum();
+  }
+
+  public double getLoadFactor() {
+    return (double) getLoad() / tableSize;
+  }
+
+  public long getCollisions() {
+    return collisions.sum();
+  }
+}
+
+
+
+// A chained set of strings with the same hash as HashTableLinked, where
+// every lock guards the buckets with the same index modulo the number of
+// locks. Threads only wait for each other when they insert into buckets
+// guarded by the same lock. A node is linked in front of its bucket, and
+// never changes after it is published, so lookups need no locks.
+class ConcurrentHashTableLinked {
+
+  private static final int LOCKS = 64;
+
+  private final int tableSize;
+  private final AtomicReferenceArray<Node> table;
+  private final Object[] locks = new Object[LOCKS];
+  private final LongAdder load = new LongAdder();
+  private final LongAdder collisions = new LongAdder();
+
+  public ConcurrentHashTableLinked(int tableSize) {
+    this.tableSize = tableSize;
+    this.table = new AtomicReferenceArray<>(tableSize);
+    for (int i = 0; i < LOCKS; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  public int hash(String value) {
+    int hash = 0;
+
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash * 7 + value.charAt(i)) % tableSize;
+    }
+    return hash;
+  }
+
+  // Returns true if the value was added, and false if it was already there
+  public boolean put(String value) {
+    int pos = hash(value);
+    synchronized (locks[pos % LOCKS]) {
+      Node first = table.get(pos);
+      if (find(first, value) != null) {
+        return false;
+      }
+      if (first != null) {
+        collisions.increment();
+      }
+      Node newNode = new Node(value);
+      newNode.setNext(first);
+      table.set(pos, newNode);
+    }
+    load.increment();
+    return true;
+  }
+
+  public Node get(String value) {
+    return find(table.get(hash(value)), value);
+  }
+
+  public boolean contains(String value) {
+    return get(value) != null;
+  }
+
+  private static Node find(Node current, String value) {
+    while (current != null) {
+      if (current.getValue().equals(value)) {
+        return current;
+      }
+      current = current.getNext();
+    }
+    return null;
+  }
+
+  public long getLoad() {
+    return load.sum();
+  }
+
+  public double getLoadFactor() {
+    return (double) getLoad() / tableSize;
+  }
+
+  public long getCollisions() {
+    return collisions.sum();
+  }
+}
+
+
+
+class TableSizes {
+
+  // The tables hash with %, which spreads the keys best over a prime size,
+  // so a table grows to the first prime above twice its size
+  public static int nextCapacity(int tableSize) {
+    long doubled = 2L * tableSize;
+    if (doubled >= Integer.MAX_VALUE) {
+      throw new RuntimeException("Table cannot grow beyond " + tableSize);
+    }
+    return BigInteger.valueOf(doubled).nextProbablePrime().intValueExact();
+  }
+}
+
 class TestData {
 
   public static Integer[] createRandomIntegerArray(int length) {
@@ -466,6 +1393,14 @@ class TestData {
     return randomArray;
   }
 
+  public static int[] toIntArray(Integer[] data) {
+    int[] array = new int[data.length];
+    for (int i = 0; i < data.length; i++) {
+      array[i] = data[i];
+    }
+    return array;
+  }
+
 }
 
 
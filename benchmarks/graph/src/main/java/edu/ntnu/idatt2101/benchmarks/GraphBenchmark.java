@@ -0,0 +1,87 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import edu.ntnu.idatt2101.Graph;
+import edu.ntnu.idatt2101.Node;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of breadth-first search and topological sort on random graphs
+ * in the file format read by Graph.newGraph. The graph is acyclic, with every
+ * edge going from a lower to a higher node number, so it can be sorted.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xss256m")
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+  @Param({"10000", "100000"})
+  private int nodes;
+
+  @Param({"5"})
+  private int edgesPerNode;
+
+  private Graph graph;
+
+  /**
+   * Generates and parses a random acyclic graph.
+   *
+   * @throws IOException If the graph cannot be parsed.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    int edges = nodes * edgesPerNode;
+    StringBuilder builder = new StringBuilder();
+    builder.append(nodes).append(' ').append(edges).append('\n');
+    for (int i = 0; i < edges; i++) {
+      int from = random.nextInt(nodes - 1);
+      int to = from + 1 + random.nextInt(nodes - from - 1);
+      builder.append(from).append(' ').append(to).append('\n');
+    }
+    graph = new Graph();
+    graph.newGraph(new BufferedReader(new StringReader(builder.toString())));
+  }
+
+  /**
+   * Measures breadth-first search from the first node.
+   *
+   * @return The graph holding the distances and predecessors.
+   */
+  @Benchmark
+  public Graph breadthFirstSearch() {
+    graph.breadthFirstSearch(graph.getNode()[0]);
+    return graph;
+  }
+
+  /**
+   * Measures depth-first topological sort of the whole graph.
+   *
+   * @return The first node in the topological order.
+   */
+  @Benchmark
+  public Node topologicalSorting() {
+    return graph.topologicalSorting();
+  }
+}
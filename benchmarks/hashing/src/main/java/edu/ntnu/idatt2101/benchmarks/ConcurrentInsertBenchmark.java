@@ -0,0 +1,142 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of inserting the same keys into the concurrent hash sets in
+ * HashingTask from a growing number of threads, each inserting its own
+ * slice of the keys. The time per fill shows how the insert throughput
+ * scales with the number of cores.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ConcurrentInsertBenchmark {
+
+  private static final MethodHandle CREATE_TEST_DATA = DefaultPackage.findStatic(
+      "TestData", "createRandomIntegerArray", Integer[].class, int.class);
+  private static final MethodHandle NEXT_CAPACITY = DefaultPackage.findStatic(
+      "TableSizes", "nextCapacity", int.class, int.class);
+
+  /**
+   * The concurrent sets being compared, with handles to their constructor and put.
+   */
+  public enum Table {
+    CAS("ConcurrentIntHashSet", int.class),
+    LOCK_STRIPED("ConcurrentHashTableLinked", String.class);
+
+    private final MethodHandle constructor;
+    private final MethodHandle put;
+
+    Table(String className, Class<?> keyType) {
+      this.constructor = DefaultPackage.findConstructor(className, int.class);
+      this.put = DefaultPackage.findVirtual(className, "put", boolean.class, keyType);
+    }
+  }
+
+  @Param({"4000000"})
+  private int keys;
+
+  @Param({"1", "2", "4", "8"})
+  private int threads;
+
+  @Param({"CAS", "LOCK_STRIPED"})
+  private Table table;
+
+  private Object[] data;
+  private int tableSize;
+  private ExecutorService executor;
+  private Object emptyTable;
+
+  /**
+   * Generates the keys, as ints for the CAS set and as strings for the
+   * chained set, and starts the threads.
+   *
+   * @throws Throwable If a method handle fails.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Throwable {
+    Integer[] integers = (Integer[]) CREATE_TEST_DATA.invokeExact(keys);
+    data = new Object[keys];
+    for (int i = 0; i < keys; i++) {
+      data[i] = table == Table.CAS ? integers[i] : integers[i].toString();
+    }
+    // The open addressing set is kept at about half load, and the chains at one key per bucket
+    tableSize = table == Table.CAS ? (int) NEXT_CAPACITY.invokeExact(keys) : keys;
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Stops the threads.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Creates an empty table before every invocation.
+   *
+   * @throws Throwable If the method handle fails.
+   */
+  @Setup(Level.Invocation)
+  public void createEmptyTable() throws Throwable {
+    emptyTable = table.constructor.invoke(tableSize);
+  }
+
+  /**
+   * Measures inserting every key, split evenly between the threads.
+   *
+   * @return The filled table.
+   * @throws Throwable If an insert fails.
+   */
+  @Benchmark
+  public Object insert() throws Throwable {
+    List<Callable<Void>> tasks = new ArrayList<>(threads);
+    for (int t = 0; t < threads; t++) {
+      int from = (int) ((long) keys * t / threads);
+      int to = (int) ((long) keys * (t + 1) / threads);
+      tasks.add(() -> {
+        try {
+          for (int i = from; i < to; i++) {
+            table.put.invoke(emptyTable, data[i]);
+          }
+        } catch (Throwable e) {
+          throw new IllegalStateException(e);
+        }
+        return null;
+      });
+    }
+    for (Future<Void> future : executor.invokeAll(tasks)) {
+      future.get();
+    }
+    return emptyTable;
+  }
+}
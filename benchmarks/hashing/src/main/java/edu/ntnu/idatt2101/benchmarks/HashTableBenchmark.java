@@ -0,0 +1,127 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the open addressing hash tables in HashingTask, filled to
+ * the same load factors as HashingTask.compareTimeSpent.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class HashTableBenchmark {
+
+  private static final MethodHandle CREATE_TEST_DATA = DefaultPackage.findStatic(
+      "TestData", "createRandomIntegerArray", Integer[].class, int.class);
+
+  /**
+   * The hash tables being compared, with handles to their constructor and methods.
+   * The primitive tables take int keys, which the handles unbox.
+   */
+  public enum Table {
+    LINEAR("HashTableLinear"),
+    DOUBLE_HASH("HashTableDoubleHash"),
+    ROBIN_HOOD("HashTableRobinHood"),
+    PRIMITIVE_LINEAR("IntHashSet", boolean.class, "contains", boolean.class, int.class);
+
+    private final MethodHandle constructor;
+    private final MethodHandle put;
+    private final MethodHandle get;
+
+    Table(String className) {
+      this(className, void.class, "get", Integer.class, Integer.class);
+    }
+
+    Table(String className, Class<?> putType, String getName, Class<?> getType,
+        Class<?> keyType) {
+      this.constructor = DefaultPackage.findConstructor(className, int.class);
+      this.put = DefaultPackage.findVirtual(className, "put", putType, keyType);
+      this.get = DefaultPackage.findVirtual(className, getName, getType, keyType);
+    }
+  }
+
+  @Param({"1000003", "10000019"})
+  private int tableSize;
+
+  @Param({"0.5", "0.8", "0.9", "0.99", "1"})
+  private double loadFactor;
+
+  @Param({"LINEAR", "DOUBLE_HASH", "ROBIN_HOOD", "PRIMITIVE_LINEAR"})
+  private Table table;
+
+  private Integer[] data;
+  private Object filledTable;
+  private Object emptyTable;
+
+  /**
+   * Generates the keys and a table already holding all of them.
+   *
+   * @throws Throwable If a method handle fails.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Throwable {
+    data = (Integer[]) CREATE_TEST_DATA.invokeExact((int) (loadFactor * tableSize));
+    filledTable = table.constructor.invoke(tableSize);
+    for (Integer key : data) {
+      table.put.invoke(filledTable, key);
+    }
+  }
+
+  /**
+   * Creates an empty table before every insert invocation.
+   *
+   * @throws Throwable If the method handle fails.
+   */
+  @Setup(Level.Invocation)
+  public void createEmptyTable() throws Throwable {
+    emptyTable = table.constructor.invoke(tableSize);
+  }
+
+  /**
+   * Measures inserting every key into an empty table.
+   *
+   * @return The filled table.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public Object insert() throws Throwable {
+    for (Integer key : data) {
+      table.put.invoke(emptyTable, key);
+    }
+    return emptyTable;
+  }
+
+  /**
+   * Measures looking up every key in the filled table.
+   *
+   * @param blackhole The sink for the found keys.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public void lookup(Blackhole blackhole) throws Throwable {
+    for (Integer key : data) {
+      blackhole.consume(table.get.invoke(filledTable, key));
+    }
+  }
+}
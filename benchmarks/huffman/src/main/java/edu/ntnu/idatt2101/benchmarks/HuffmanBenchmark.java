@@ -0,0 +1,108 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of Huffman compression and decompression of a file. The input is
+ * text with a skewed letter distribution, which is where Huffman coding pays
+ * off. All files are temporary files deleted after the trial.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HuffmanBenchmark {
+
+  private static final MethodHandle COMPRESS = DefaultPackage.findStatic(
+      "Huffman", "compress", void.class, File.class, File.class);
+  private static final MethodHandle DECOMPRESS = DefaultPackage.findStatic(
+      "Huffman", "decompress", void.class, File.class, File.class);
+
+  @Param({"1000000"})
+  private int bytes;
+
+  private File input;
+  private File compressed;
+  private File output;
+
+  /**
+   * Writes the input file and a compressed copy of it.
+   *
+   * @throws Throwable If the files cannot be written.
+   */
+  @Setup(Level.Trial)
+  public void writeFiles() throws Throwable {
+    Random random = new Random(42);
+    byte[] text = new byte[bytes];
+    for (int i = 0; i < bytes; i++) {
+      //Squaring a uniform number makes the first letters the most common ones.
+      double uniform = random.nextDouble();
+      text[i] = (byte) ('a' + (int) (26 * uniform * uniform));
+    }
+    input = File.createTempFile("huffman-input", ".txt");
+    compressed = File.createTempFile("huffman-compressed", ".bin");
+    output = File.createTempFile("huffman-output", ".txt");
+    Files.write(input.toPath(), text);
+    COMPRESS.invokeExact(input, compressed);
+  }
+
+  /**
+   * Deletes the temporary files.
+   *
+   * @throws IOException If a file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void deleteFiles() throws IOException {
+    Files.deleteIfExists(input.toPath());
+    Files.deleteIfExists(compressed.toPath());
+    Files.deleteIfExists(output.toPath());
+  }
+
+  /**
+   * Measures compressing the input file.
+   *
+   * @return The size of the compressed file.
+   * @throws Throwable If the compression fails.
+   */
+  @Benchmark
+  public long compress() throws Throwable {
+    COMPRESS.invokeExact(input, output);
+    return output.length();
+  }
+
+  /**
+   * Measures decompressing the compressed file.
+   *
+   * @return The size of the decompressed file.
+   * @throws Throwable If the decompression fails.
+   */
+  @Benchmark
+  public long decompress() throws Throwable {
+    DECOMPRESS.invokeExact(compressed, output);
+    return output.length();
+  }
+}
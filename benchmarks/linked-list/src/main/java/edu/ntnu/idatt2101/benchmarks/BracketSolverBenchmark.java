@@ -0,0 +1,135 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the bracket validation in BracketSolver, on a balanced line
+ * of brackets mixed with other characters.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BracketSolverBenchmark {
+
+  private static final MethodHandle CHECK_VALID_BRACKETS = DefaultPackage.findStatic(
+      "BracketSolver", "checkValidBrackets", boolean.class, String.class);
+  private static final MethodHandle NEW_VALIDATOR = DefaultPackage.findConstructor(
+      "BracketValidator");
+  private static final MethodHandle VALIDATE_READER = DefaultPackage.findVirtual(
+      "BracketValidator", "validate", long.class, Reader.class);
+  private static final MethodHandle VALIDATE_PARALLEL = DefaultPackage.findStatic(
+      "ParallelBracketValidator", "validate", long.class, Path.class);
+
+  @Param({"1000", "1000000"})
+  private int length;
+
+  private String line;
+  private Object validator;
+  private Path file;
+
+  /**
+   * Generates a balanced line of brackets, nested at random, with a
+   * letter between every bracket, and writes it to a temporary file.
+   *
+   * @throws IOException If the temporary file cannot be written.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    String openers = "([{";
+    String closers = ")]}";
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder(length);
+    char[] open = new char[length];
+    int depth = 0;
+    while (builder.length() < length) {
+      int remaining = length - builder.length();
+      if (depth > 0 && (remaining <= 2 * depth || random.nextBoolean())) {
+        builder.append(closers.charAt(openers.indexOf(open[--depth])));
+      } else {
+        open[depth] = openers.charAt(random.nextInt(3));
+        builder.append(open[depth++]);
+      }
+      builder.append('a');
+    }
+    line = builder.toString();
+    file = Files.createTempFile("brackets", ".txt");
+    Files.writeString(file, line, StandardCharsets.US_ASCII);
+    try {
+      validator = NEW_VALIDATOR.invokeExact();
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+    ConsoleSilencer.silence();
+  }
+
+  /**
+   * Restores the console silenced during setup and deletes the temporary file.
+   *
+   * @throws IOException If the temporary file cannot be deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    ConsoleSilencer.restore();
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Measures the validation of the line.
+   *
+   * @return Whether the brackets are valid.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public boolean checkValidBrackets() throws Throwable {
+    return (boolean) CHECK_VALID_BRACKETS.invokeExact(line);
+  }
+
+  /**
+   * Measures streaming the line through a reused validator.
+   *
+   * @return The offset of the first invalid bracket, or -1.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public long validateReader() throws Throwable {
+    return (long) VALIDATE_READER.invokeExact(validator, (Reader) new StringReader(line));
+  }
+
+  /**
+   * Measures validating the file in chunks on the common fork/join pool.
+   *
+   * @return The offset of the first invalid bracket, or -1.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public long validateParallel() throws Throwable {
+    return (long) VALIDATE_PARALLEL.invokeExact(file);
+  }
+}
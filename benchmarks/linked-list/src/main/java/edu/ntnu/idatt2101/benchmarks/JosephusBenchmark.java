@@ -0,0 +1,89 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Josephus solver.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JosephusBenchmark {
+
+  private static final MethodHandle OPTIMAL_POSITION = DefaultPackage.findStatic(
+      "Josephus", "optimalPosition", int.class, int.class, int.class);
+  private static final MethodHandle OPTIMAL_POSITION_LONG = DefaultPackage.findStatic(
+      "Josephus", "optimalPosition", long.class, long.class, long.class);
+  private static final MethodHandle ELIMINATION_ORDER = DefaultPackage.findStatic(
+      "Josephus", "eliminationOrder", int[].class, int.class, int.class);
+  private static final MethodHandle SIMULATE_POSITION = DefaultPackage.findStatic(
+      "Josephus", "simulatePosition", int.class, int.class, int.class);
+
+  @Param({"11", "10000", "1000000"})
+  private int people;
+
+  @Param({"2", "10"})
+  private int interval;
+
+  /**
+   * Measures finding the last remaining position with the O(n) recurrence.
+   *
+   * @return The position.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int optimalPosition() throws Throwable {
+    return (int) OPTIMAL_POSITION.invokeExact(people, interval);
+  }
+
+  /**
+   * Measures finding the last remaining position in O(m log n).
+   *
+   * @return The position.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public long optimalPositionLong() throws Throwable {
+    return (long) OPTIMAL_POSITION_LONG.invokeExact((long) people, (long) interval);
+  }
+
+  /**
+   * Measures finding the whole elimination order with a Fenwick tree.
+   *
+   * @return The positions in the order they are removed.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] eliminationOrder() throws Throwable {
+    return (int[]) ELIMINATION_ORDER.invokeExact(people, interval);
+  }
+
+  /**
+   * Measures the linked-list simulation the solvers replace.
+   *
+   * @return The position.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int simulatePosition() throws Throwable {
+    return (int) SIMULATE_POSITION.invokeExact(people, interval);
+  }
+}
@@ -0,0 +1,100 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import edu.ntnu.idatt2101.EdmondsKarp;
+import edu.ntnu.idatt2101.WeightedGraphTable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Edmonds-Karp algorithm on random flow networks in the
+ * file format read by WeightedGraphTable.newGraph. The algorithm uses up the
+ * capacities of the graph, so the graph is parsed again before every invocation.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EdmondsKarpBenchmark {
+
+  @Param({"50", "200"})
+  private int nodes;
+
+  @Param({"8"})
+  private int edgesPerNode;
+
+  private String graphData;
+  private WeightedGraphTable graph;
+
+  /**
+   * Generates a random flow network and silences the path printing.
+   */
+  @Setup(Level.Trial)
+  public void generateGraph() {
+    Random random = new Random(42);
+    int edges = nodes * edgesPerNode;
+    StringBuilder builder = new StringBuilder();
+    builder.append(nodes).append(' ').append(edges).append('\n');
+    for (int i = 0; i < edges; i++) {
+      int from = random.nextInt(nodes);
+      int to = random.nextInt(nodes);
+      if (to == from) {
+        to = (to + 1) % nodes;
+      }
+      builder.append(from).append(' ').append(to).append(' ')
+          .append(1 + random.nextInt(100)).append('\n');
+    }
+    graphData = builder.toString();
+    ConsoleSilencer.silence();
+  }
+
+  /**
+   * Parses the flow network with full capacities before every invocation.
+   *
+   * @throws IOException If the graph cannot be parsed.
+   */
+  @Setup(Level.Invocation)
+  public void parseGraph() throws IOException {
+    graph = new WeightedGraphTable();
+    graph.newGraph(new BufferedReader(new StringReader(graphData)));
+  }
+
+  /**
+   * Restores the console silenced during setup.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ConsoleSilencer.restore();
+  }
+
+  /**
+   * Measures the maximum flow from the first to the last node.
+   *
+   * @return The maximum flow.
+   */
+  @Benchmark
+  public int edmondsKarp() {
+    return EdmondsKarp.edmondsKarp(graph, 0, nodes - 1);
+  }
+}
@@ -0,0 +1,100 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks comparing KaratsubaMultiplier with BigInteger.multiply
+ * for factors with the given number of decimal digits.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KaratsubaBenchmark {
+
+  private static final MethodHandle MULTIPLY = DefaultPackage.findStatic(
+      "KaratsubaMultiplier", "multiply", int[].class, int[].class, int[].class);
+  private static final MethodHandle MULTIPLY_PARALLEL = DefaultPackage.findStatic(
+      "KaratsubaMultiplier", "multiplyParallel", int[].class, int[].class, int[].class);
+  private static final MethodHandle TO_BIG_INTEGER = DefaultPackage.findStatic(
+      "KaratsubaMultiplier", "toBigInteger", BigInteger.class, int[].class);
+
+  @Param({"10000", "100000", "1000000"})
+  private int digits;
+
+  private int[] a;
+  private int[] b;
+  private BigInteger bigA;
+  private BigInteger bigB;
+
+  /**
+   * Generates two random factors with the given number of decimal digits.
+   *
+   * @throws Throwable If the method handle fails.
+   */
+  @Setup
+  public void setUp() throws Throwable {
+    int limbCount = (int) Math.ceil(digits * Math.log(10) / Math.log(2) / 32);
+    Random random = new Random(42);
+    a = new int[limbCount];
+    b = new int[limbCount];
+    for (int i = 0; i < limbCount; i++) {
+      a[i] = random.nextInt();
+      b[i] = random.nextInt();
+    }
+    bigA = (BigInteger) TO_BIG_INTEGER.invokeExact(a);
+    bigB = (BigInteger) TO_BIG_INTEGER.invokeExact(b);
+  }
+
+  /**
+   * Measures the sequential Karatsuba multiplier.
+   *
+   * @return The limbs of the product.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] karatsuba() throws Throwable {
+    return (int[]) MULTIPLY.invokeExact(a, b);
+  }
+
+  /**
+   * Measures the Karatsuba multiplier on the common fork/join pool.
+   *
+   * @return The limbs of the product.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] karatsubaParallel() throws Throwable {
+    return (int[]) MULTIPLY_PARALLEL.invokeExact(a, b);
+  }
+
+  /**
+   * Measures BigInteger.multiply as the baseline.
+   *
+   * @return The product.
+   */
+  @Benchmark
+  public BigInteger bigInteger() {
+    return bigA.multiply(bigB);
+  }
+}
@@ -0,0 +1,84 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the repeated addition multipliers in RecursiveMultiplier.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RecursiveMultiplierBenchmark {
+
+  private static final MethodHandle RECURSIVE_MULTIPLY_1 = DefaultPackage.findStatic(
+      "RecursiveMultiplier", "recursiveMultiply1", double.class, int.class, double.class);
+  private static final MethodHandle RECURSIVE_MULTIPLY_2 = DefaultPackage.findStatic(
+      "RecursiveMultiplier", "recursiveMultiply2", double.class, int.class, double.class);
+  private static final MethodHandle ITERATIVE_MULTIPLY = DefaultPackage.findStatic(
+      "RecursiveMultiplier", "iterativeMultiply", double.class, long.class, double.class);
+
+  @Param({"13", "1000", "4800"})
+  private int n;
+
+  private double x;
+
+  /**
+   * Sets the decimal factor used by RecursiveMultiplier.main.
+   */
+  @Setup
+  public void setUp() {
+    x = 22.5;
+  }
+
+  /**
+   * Measures the linear recursion.
+   *
+   * @return The product.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public double recursiveMultiply1() throws Throwable {
+    return (double) RECURSIVE_MULTIPLY_1.invokeExact(n, x);
+  }
+
+  /**
+   * Measures the recursion by doubling.
+   *
+   * @return The product.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public double recursiveMultiply2() throws Throwable {
+    return (double) RECURSIVE_MULTIPLY_2.invokeExact(n, x);
+  }
+
+  /**
+   * Measures the iterative doubling engine.
+   *
+   * @return The product.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public double iterativeMultiply() throws Throwable {
+    return (double) ITERATIVE_MULTIPLY.invokeExact((long) n, x);
+  }
+}
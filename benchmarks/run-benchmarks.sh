@@ -0,0 +1,18 @@
+#!/bin/sh
+# Builds the benchmark modules and runs each of them, writing the JMH results
+# as JSON to results/<module>.json. Extra arguments are passed on to JMH,
+# e.g. ./run-benchmarks.sh -p elements=100000
+set -e
+cd "$(dirname "$0")"
+modules="stock-profit multiplier sorting linked-list hashing graph max-flow huffman"
+# The pom only builds shortest-path when the minigeo jar is there
+if [ -f shortest-path/lib/minigeo.jar ]; then
+  modules="$modules shortest-path"
+else
+  echo "Skipping shortest-path, since shortest-path/lib/minigeo.jar is missing" >&2
+fi
+mvn -B -q package
+mkdir -p results
+for module in $modules; do
+  java -jar "$module/target/benchmarks.jar" -rf json -rff "results/$module.json" "$@"
+done
@@ -0,0 +1,165 @@
+package com.skipevaag;
+
+import edu.ntnu.idatt2101.benchmarks.ConsoleSilencer;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of Dijkstra and ALT on a synthetic road grid, so that no map files
+ * have to be downloaded. The benchmark lives in the package of the assignment,
+ * since Graph and Node are package-private. The landmarks are the four corners
+ * of the grid, and their distance tables are calculated with Dijkstra in the
+ * same way as PreProcessor does.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark {
+
+  @Param({"100", "300"})
+  private int side;
+
+  private Graph graph;
+  private int start;
+  private int end;
+
+  /**
+   * Builds the grid and its landmark tables, and silences the search output.
+   */
+  @Setup(Level.Trial)
+  public void buildGraph() {
+    ConsoleSilencer.silence();
+    int nodeCount = side * side;
+    int[] landmarks = {0, side - 1, nodeCount - side, nodeCount - 1};
+
+    //Every road gets a random weight, and the same weight is used in both directions.
+    Random random = new Random(42);
+    int[][] weights = new int[nodeCount][2];
+    for (int[] nodeWeights : weights) {
+      nodeWeights[0] = 1 + random.nextInt(100);
+      nodeWeights[1] = 1 + random.nextInt(100);
+    }
+
+    Graph reverseGraph = new Graph();
+    reverseGraph.setNodes(createGrid(weights, true));
+    int[][] nodesToLandmarks = distanceTable(reverseGraph, landmarks);
+
+    graph = new Graph();
+    graph.setNodes(createGrid(weights, false));
+    graph.setLandmarksToNodes(distanceTable(graph, landmarks));
+    graph.setNodesToLandmarks(nodesToLandmarks);
+
+    start = side / 4 * side + side / 4;
+    end = nodeCount - 1 - start;
+  }
+
+  /**
+   * Creates the nodes of the grid, with a road to the right and a road down
+   * from every node, and the opposite roads back.
+   *
+   * @param weights The weights of the road to the right and the road down from every node.
+   * @param reverse Whether the roads are added in the reverse direction.
+   * @return The nodes of the grid.
+   */
+  private ArrayList<Node> createGrid(int[][] weights, boolean reverse) {
+    ArrayList<Node> nodes = new ArrayList<>(side * side);
+    for (int i = 0; i < side * side; i++) {
+      nodes.add(new Node(i, new Coordinate(i / side, i % side)));
+    }
+    for (int i = 0; i < side * side; i++) {
+      if (i % side < side - 1) {
+        addRoad(nodes, i, i + 1, weights[i][0], reverse);
+      }
+      if (i / side < side - 1) {
+        addRoad(nodes, i, i + side, weights[i][1], reverse);
+      }
+    }
+    return nodes;
+  }
+
+  /**
+   * Adds a road in both directions between two nodes.
+   *
+   * @param nodes The nodes of the grid.
+   * @param from The first node.
+   * @param to The second node.
+   * @param weight The weight of the road.
+   * @param reverse Whether the road is added in the reverse direction.
+   */
+  private static void addRoad(ArrayList<Node> nodes, int from, int to, int weight,
+                              boolean reverse) {
+    //The weights are symmetric, so only the order in which edges are added differs.
+    if (reverse) {
+      nodes.get(to).addEdge(weight, from);
+      nodes.get(from).addEdge(weight, to);
+    } else {
+      nodes.get(from).addEdge(weight, to);
+      nodes.get(to).addEdge(weight, from);
+    }
+  }
+
+  /**
+   * Calculates the distances from every landmark to every node.
+   *
+   * @param graph The graph to search.
+   * @param landmarks The indexes of the landmarks.
+   * @return The distances, indexed by landmark and then by node.
+   */
+  private static int[][] distanceTable(Graph graph, int[] landmarks) {
+    int[][] distances = new int[landmarks.length][];
+    for (int i = 0; i < landmarks.length; i++) {
+      graph.dikstra(landmarks[i], -1);
+      distances[i] = graph.nodes.stream().mapToInt(Node::getWeight).toArray();
+    }
+    return distances;
+  }
+
+  /**
+   * Restores the console silenced during setup.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ConsoleSilencer.restore();
+  }
+
+  /**
+   * Measures Dijkstra between two nodes on opposite sides of the grid.
+   *
+   * @return The length of the shortest path.
+   */
+  @Benchmark
+  public int dijkstra() {
+    return graph.dikstra(start, end);
+  }
+
+  /**
+   * Measures ALT between the same two nodes.
+   *
+   * @return The length of the shortest path.
+   */
+  @Benchmark
+  public int alt() {
+    return graph.alt(start, end);
+  }
+}
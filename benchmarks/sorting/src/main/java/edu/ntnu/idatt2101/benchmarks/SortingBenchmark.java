@@ -0,0 +1,211 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the quicksort variants in SortingAlgorithm. Every invocation
+ * sorts a fresh copy of the same input, so the sorted result of one invocation
+ * is never the input of the next.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SortingBenchmark {
+
+  private static final MethodHandle QUICKSORT = DefaultPackage.findStatic(
+      "SortingAlgorithm", "quicksort", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle QUICKSORT_WITH_HELPER_METHOD = DefaultPackage.findStatic(
+      "SortingAlgorithm", "quicksortWithHelperMethod", void.class,
+      int[].class, int.class, int.class);
+  private static final MethodHandle PARALLEL_QUICKSORT = DefaultPackage.findStatic(
+      "SortingAlgorithm", "parallelQuicksort", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle QUICKSORT_THREE_WAY = DefaultPackage.findStatic(
+      "SortingAlgorithm", "quicksortThreeWay", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle INTROSORT = DefaultPackage.findStatic(
+      "SortingAlgorithm", "introsort", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle RADIX_SORT = DefaultPackage.findStatic(
+      "SortingAlgorithm", "radixSort", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle PARALLEL_RADIX_SORT = DefaultPackage.findStatic(
+      "SortingAlgorithm", "parallelRadixSort", void.class, int[].class, int.class, int.class);
+  private static final MethodHandle TOP_K = DefaultPackage.findStatic(
+      "SortingAlgorithm", "topK", int[].class, int[].class, int.class);
+  private static final MethodHandle PARALLEL_TOP_K = DefaultPackage.findStatic(
+      "SortingAlgorithm", "parallelTopK", int[].class, int[].class, int.class);
+
+  /**
+   * The distributions of the input. DUPLICATES is the pattern made by
+   * SortingAlgorithm.generateArray, with every other element set to 42.
+   */
+  public enum Distribution {
+    RANDOM, DUPLICATES, SORTED
+  }
+
+  @Param({"1000000"})
+  private int elements;
+
+  @Param({"RANDOM", "DUPLICATES", "SORTED"})
+  private Distribution distribution;
+
+  @Param({"1000"})
+  private int k;
+
+  private int[] input;
+  private int[] array;
+
+  /**
+   * Generates the input with the chosen distribution.
+   */
+  @Setup(Level.Trial)
+  public void generateInput() {
+    Random random = new Random(42);
+    input = new int[elements];
+    for (int i = 0; i < elements; i++) {
+      if (distribution == Distribution.DUPLICATES && i % 2 == 1) {
+        input[i] = 42;
+      } else {
+        input[i] = random.nextInt(10000);
+      }
+    }
+    if (distribution == Distribution.SORTED) {
+      Arrays.sort(input);
+    }
+    array = new int[elements];
+  }
+
+  /**
+   * Restores the unsorted input before every invocation.
+   */
+  @Setup(Level.Invocation)
+  public void copyInput() {
+    System.arraycopy(input, 0, array, 0, elements);
+  }
+
+  /**
+   * Measures quicksort with median-of-three for small ranges.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] quicksort() throws Throwable {
+    QUICKSORT.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures quicksort with insertion sort for small ranges.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] quicksortWithHelperMethod() throws Throwable {
+    QUICKSORT_WITH_HELPER_METHOD.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures quicksort with insertion sort for small ranges on the common fork/join pool.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] parallelQuicksort() throws Throwable {
+    PARALLEL_QUICKSORT.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures quicksort with three-way partitioning and insertion sort for small ranges.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] quicksortThreeWay() throws Throwable {
+    QUICKSORT_THREE_WAY.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures introsort, which falls back to heapsort when the recursion gets too deep.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] introsort() throws Throwable {
+    INTROSORT.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures LSD radix sort.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] radixSort() throws Throwable {
+    RADIX_SORT.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures LSD radix sort on the common fork/join pool.
+   *
+   * @return The sorted array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] parallelRadixSort() throws Throwable {
+    PARALLEL_RADIX_SORT.invokeExact(array, 0, array.length - 1);
+    return array;
+  }
+
+  /**
+   * Measures finding the k largest elements with quickselect.
+   *
+   * @return The k largest elements.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] topK() throws Throwable {
+    return (int[]) TOP_K.invokeExact(array, k);
+  }
+
+  /**
+   * Measures finding the k largest elements with one quickselect per chunk
+   * on the common fork/join pool.
+   *
+   * @return The k largest elements.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] parallelTopK() throws Throwable {
+    return (int[]) PARALLEL_TOP_K.invokeExact(array, k);
+  }
+}
@@ -0,0 +1,140 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the max stock profit algorithms in StockProfitCalculator.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StockProfitBenchmark {
+
+  private static final MethodHandle SEQUENTIAL = DefaultPackage.findStatic(
+      "StockProfitCalculator", "calculateMaxStockProfit", int[].class, int[].class);
+  private static final MethodHandle PARALLEL = DefaultPackage.findStatic(
+      "StockProfitCalculator", "calculateMaxStockProfitParallel", int[].class, int[].class);
+  private static final MethodHandle BATCH = DefaultPackage.findStatic(
+      "StockProfitCalculator", "calculateMaxStockProfitBatch", void.class,
+      int[].class, int[].class, int[].class, int[].class, int[].class);
+  private static final MethodHandle NEW_SEGMENT_TREE = DefaultPackage.findConstructor(
+      "ProfitSegmentTree", int[].class);
+  private static final MethodHandle QUERY = DefaultPackage.findVirtual(
+      "ProfitSegmentTree", "query", int[].class, int.class, int.class);
+  private static final int SERIES = 1000;
+  private static final int QUERIES = 1024;
+
+  @Param({"100000", "10000000"})
+  private int elements;
+
+  private int[] stockChange;
+  private int[] offsets;
+  private int[] maxProfits;
+  private int[] buyDates;
+  private int[] sellDates;
+  private Object segmentTree;
+  private int[] queryFrom;
+  private int[] queryTo;
+  private int query;
+
+  /**
+   * Generates random stock price changes in the same range as StockProfitCalculator.main.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    stockChange = new int[elements];
+    for (int i = 0; i < elements; i++) {
+      stockChange[i] = random.nextInt(200) - 100;
+    }
+
+    //The same changes split into equally long series for the batch benchmark.
+    offsets = new int[SERIES + 1];
+    for (int s = 0; s <= SERIES; s++) {
+      offsets[s] = (int) ((long) elements * s / SERIES);
+    }
+    maxProfits = new int[SERIES];
+    buyDates = new int[SERIES];
+    sellDates = new int[SERIES];
+
+    queryFrom = new int[QUERIES];
+    queryTo = new int[QUERIES];
+    for (int q = 0; q < QUERIES; q++) {
+      int first = 1 + random.nextInt(elements);
+      int second = 1 + random.nextInt(elements);
+      queryFrom[q] = Math.min(first, second);
+      queryTo[q] = Math.max(first, second);
+    }
+    try {
+      segmentTree = NEW_SEGMENT_TREE.invokeExact(stockChange);
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Measures the single-pass sequential scan.
+   *
+   * @return The result array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] sequential() throws Throwable {
+    return (int[]) SEQUENTIAL.invokeExact(stockChange);
+  }
+
+  /**
+   * Measures the fork/join scan on the common pool.
+   *
+   * @return The result array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] parallel() throws Throwable {
+    return (int[]) PARALLEL.invokeExact(stockChange);
+  }
+
+  /**
+   * Measures the batch API over many short series written to caller-owned arrays.
+   *
+   * @return The output array of maximum profits.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] batch() throws Throwable {
+    BATCH.invokeExact(stockChange, offsets, maxProfits, buyDates, sellDates);
+    return maxProfits;
+  }
+
+  /**
+   * Measures a single range query against the prebuilt segment tree.
+   *
+   * @return The result array.
+   * @throws Throwable If the method handle fails.
+   */
+  @Benchmark
+  public int[] segmentTreeQuery() throws Throwable {
+    int q = query++ & (QUERIES - 1);
+    return (int[]) QUERY.invokeExact(segmentTree, queryFrom[q], queryTo[q]);
+  }
+}
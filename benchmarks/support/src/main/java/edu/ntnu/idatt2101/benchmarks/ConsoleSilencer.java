@@ -0,0 +1,42 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * The ConsoleSilencer class discards standard output while a benchmark runs.
+ * Some of the assignments print from inside the algorithm being measured,
+ * and the console would otherwise dominate the measured time.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+public final class ConsoleSilencer {
+
+  private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+  private static PrintStream original;
+
+  private ConsoleSilencer() {
+  }
+
+  /**
+   * Replaces standard output with a stream discarding everything written to it.
+   */
+  public static synchronized void silence() {
+    if (original == null) {
+      original = System.out;
+      System.setOut(DISCARD);
+    }
+  }
+
+  /**
+   * Restores the standard output replaced by {@link #silence()}.
+   */
+  public static synchronized void restore() {
+    if (original != null) {
+      System.setOut(original);
+      original = null;
+    }
+  }
+}
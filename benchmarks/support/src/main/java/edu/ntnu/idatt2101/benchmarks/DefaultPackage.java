@@ -0,0 +1,114 @@
+package edu.ntnu.idatt2101.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The DefaultPackage class gives benchmarks access to classes declared in the
+ * default package. Several assignments are single files without a package,
+ * and such classes cannot be imported, so their methods are looked up as
+ * method handles instead. Handles stored in static final fields are treated
+ * as constants by the JIT compiler, so calling them costs the same as a
+ * direct call.
+ *
+ * @author Ramtin Samavat.
+ * @version 1.0
+ * @since Nov 20, 2023.
+ */
+public final class DefaultPackage {
+
+  private DefaultPackage() {
+  }
+
+  /**
+   * Loads a class declared in the default package.
+   *
+   * @param className The simple name of the class.
+   * @return The class.
+   * @throws IllegalStateException If the class is not on the class path.
+   */
+  public static Class<?> findClass(String className) {
+    try {
+      return Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Class not found: " + className, e);
+    }
+  }
+
+  /**
+   * Looks up a static method of a class in the default package.
+   *
+   * @param className The simple name of the class.
+   * @param methodName The name of the method.
+   * @param returnType The return type of the method.
+   * @param parameterTypes The parameter types of the method.
+   * @return A method handle invoking the method.
+   * @throws IllegalStateException If the method cannot be found or accessed.
+   */
+  public static MethodHandle findStatic(String className, String methodName,
+                                        Class<?> returnType, Class<?>... parameterTypes) {
+    Class<?> owner = findClass(className);
+    try {
+      return lookup(owner).findStatic(owner, methodName,
+          MethodType.methodType(returnType, parameterTypes));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Method not found: " + className + "." + methodName, e);
+    }
+  }
+
+  /**
+   * Looks up an instance method of a class in the default package. The first
+   * argument of the returned handle is the receiver, typed as Object.
+   *
+   * @param className The simple name of the class.
+   * @param methodName The name of the method.
+   * @param returnType The return type of the method.
+   * @param parameterTypes The parameter types of the method.
+   * @return A method handle invoking the method.
+   * @throws IllegalStateException If the method cannot be found or accessed.
+   */
+  public static MethodHandle findVirtual(String className, String methodName,
+                                         Class<?> returnType, Class<?>... parameterTypes) {
+    Class<?> owner = findClass(className);
+    try {
+      MethodHandle handle = lookup(owner).findVirtual(owner, methodName,
+          MethodType.methodType(returnType, parameterTypes));
+      return handle.asType(handle.type().changeParameterType(0, Object.class));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Method not found: " + className + "." + methodName, e);
+    }
+  }
+
+  /**
+   * Looks up a constructor of a class in the default package. The returned
+   * handle produces the new instance typed as Object.
+   *
+   * @param className The simple name of the class.
+   * @param parameterTypes The parameter types of the constructor.
+   * @return A method handle invoking the constructor.
+   * @throws IllegalStateException If the constructor cannot be found or accessed.
+   */
+  public static MethodHandle findConstructor(String className, Class<?>... parameterTypes) {
+    Class<?> owner = findClass(className);
+    try {
+      MethodHandle handle = lookup(owner).findConstructor(owner,
+          MethodType.methodType(void.class, parameterTypes));
+      return handle.asType(handle.type().changeReturnType(Object.class));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Constructor not found: " + className, e);
+    }
+  }
+
+  /**
+   * Creates a lookup with full access to a class, which is needed for the
+   * package-private classes of the assignments.
+   *
+   * @param owner The class to be accessed.
+   * @return The lookup.
+   * @throws IllegalAccessException If the class cannot be accessed.
+   */
+  private static MethodHandles.Lookup lookup(Class<?> owner) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+  }
+}